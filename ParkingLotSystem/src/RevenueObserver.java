@@ -1,24 +1,69 @@
 package observer;
 
-import service.BillingService;
-import service.FineService;
+import entity.Money;
+import enums.SpotCategory;
+import service.RevenueAccumulator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /*
  * Observer that tracks total revenue.
- * Updates when billing or fine data changes.
+ * Reads the running totals that ExitController records at payment time,
+ * so every getter is a few counter reads - nothing is recalculated.
+ * Built with an EventBus, it also tells change listeners (dashboards)
+ * after each payment or fine.
  */
 public class RevenueObserver {
 
-    private BillingService billingService;
-    private FineService fineService;
+    private final RevenueAccumulator revenue;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    public RevenueObserver(RevenueAccumulator revenue) {
+        this.revenue = revenue;
+    }
+
+    public RevenueObserver(RevenueAccumulator revenue, EventBus bus) {
+        this(revenue);
+        bus.subscribe(ParkingEvent.PaymentReceived.class, event -> changed());
+        bus.subscribe(ParkingEvent.FineRecorded.class, event -> changed());
+    }
+
+    private void changed() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    // Runs on the bus thread; UI code should hand off to its own thread
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    public Money getTotalRevenue() {
+        return revenue.getTotal();
+    }
+
+    public long getPaymentCount() {
+        return revenue.getPaymentCount();
+    }
+
+    public Map<SpotCategory, Money> getRevenueByCategory() {
+        return revenue.getTotalsByCategory();
+    }
+
+    public Map<String, Money> getRevenueByMethod() {
+        return revenue.getTotalsByMethod();
+    }
 
-    public RevenueObserver(BillingService billingService, FineService fineService) {
-        this.billingService = billingService;
-        this.fineService = fineService;
+    // Last hour, one entry per minute (oldest first)
+    public Money[] getRevenueByMinute() {
+        return revenue.getRevenueByMinute();
     }
 
-    public double getTotalRevenue() {
-        return billingService.getTotalRevenue() +
-               fineService.getTotalCollectedFines();
+    // Last two days, one entry per hour (oldest first)
+    public Money[] getRevenueByHour() {
+        return revenue.getRevenueByHour();
     }
 }
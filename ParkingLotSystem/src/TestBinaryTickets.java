@@ -0,0 +1,148 @@
+import entity.Ticket;
+import enums.SpotCategory;
+import service.BinaryTicketReader;
+import service.BinaryTicketWriter;
+import service.TicketFormatConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Test for the binary ticket format (BinaryTicketWriter / Reader / TicketFormatConverter)
+ * Every ticket written must read back field for field, including tickets
+ * appended to an existing file and tickets converted from CSV lines
+ */
+public class TestBinaryTickets {
+    private static final LocalDateTime ENTRY = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_000_000);
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("╔═══════════════════════════════════════════════╗");
+        System.out.println("║  BINARY TICKET FORMAT TEST                    ║");
+        System.out.println("║  Testing: write, append, convert, read back   ║");
+        System.out.println("╚═══════════════════════════════════════════════╝\n");
+
+        Path dir = Files.createTempDirectory("binary-tickets-");
+
+        // TEST 1: Derived and stored ticket IDs, every category, every vehicle type
+        List<Ticket> written = new ArrayList<>();
+        written.add(derived("BIN1", "F1-R1-S1", SpotCategory.COMPACT, "Motorcycle", ENTRY));
+        written.add(derived("BIN2", "F1-R2-S7", SpotCategory.REGULAR, "Car", ENTRY.plusMinutes(1)));
+        written.add(derived("BIN3", "F2-R1-S3", SpotCategory.HANDICAPPED, "Handicapped", ENTRY.plusMinutes(2)));
+        written.add(derived("BIN4", "F3-R4-S12", SpotCategory.RESERVED, "SUV", ENTRY.plusHours(3)));
+        written.add(new Ticket("MANUAL-7", "BIN1", "F9-R9-S9", SpotCategory.REGULAR, ENTRY.plusDays(1), "Car"));
+        written.add(new Ticket("T-OLD-1", "OLD", "F1-R1-S2", SpotCategory.REGULAR, ENTRY)); // No type recorded
+        Path file = dir.resolve("tickets.bin");
+        try (BinaryTicketWriter out = new BinaryTicketWriter(file)) {
+            for (Ticket ticket : written) {
+                out.write(ticket);
+            }
+        }
+        List<Ticket> read;
+        try (BinaryTicketReader in = new BinaryTicketReader(file)) {
+            read = in.readAll();
+        }
+
+        System.out.println("TEST 1: Write and Read Back");
+        System.out.println("─────────────────────────────────");
+        check("Every ticket reads back unchanged", sameTickets(written, read));
+        check("Entry time kept to the millisecond", ENTRY.equals(read.get(0).getEntryTime()));
+        check("Missing vehicle type stays missing", read.get(5).getVehicleType() == null);
+
+        // TEST 2: A second writer appends to the same file, reusing known plates
+        List<Ticket> appended = new ArrayList<>();
+        appended.add(derived("BIN1", "F1-R1-S4", SpotCategory.COMPACT, "Motorcycle", ENTRY.plusDays(2)));
+        appended.add(derived("BIN5", "F1-R1-S5", SpotCategory.REGULAR, "Car", ENTRY.plusDays(2)));
+        try (BinaryTicketWriter out = new BinaryTicketWriter(file)) {
+            for (Ticket ticket : appended) {
+                out.write(ticket);
+            }
+        }
+        try (BinaryTicketReader in = new BinaryTicketReader(file)) {
+            read = in.readAll();
+        }
+        List<Ticket> all = new ArrayList<>(written);
+        all.addAll(appended);
+
+        System.out.println("\n\nTEST 2: Append to an Existing File");
+        System.out.println("─────────────────────────────────");
+        check("Old and appended tickets read back unchanged", sameTickets(all, read));
+
+        // TEST 3: A CSV log with CLOSED records and a broken line
+        Path csv = dir.resolve("tickets.txt");
+        List<String> lines = new ArrayList<>();
+        for (Ticket ticket : written) {
+            lines.add(csvLine(ticket));
+        }
+        lines.add(2, "CLOSED,T-BIN1-20261018093015,2026-10-18T10:00");
+        lines.add(4, "not,a,ticket");
+        Files.write(csv, lines, StandardCharsets.UTF_8);
+        Path converted = dir.resolve("converted.bin");
+        int count = TicketFormatConverter.convert(csv, converted);
+        try (BinaryTicketReader in = new BinaryTicketReader(converted)) {
+            read = in.readAll();
+        }
+
+        System.out.println("\n\nTEST 3: Convert From CSV");
+        System.out.println("─────────────────────────────────");
+        check("Only ticket lines are converted", count == written.size());
+        check("Converted tickets match the CSV", sameTickets(written, read));
+        check("Binary file is smaller", Files.size(converted) < Files.size(csv));
+        deleteAll(dir);
+
+        System.out.println("\n╔═══════════════════════════════════════════════╗");
+        System.out.println("║  BINARY TICKET FORMAT TEST COMPLETED          ║");
+        System.out.println("╚═══════════════════════════════════════════════╝");
+    }
+
+    // A ticket whose ID follows Ticket's own "T-{plate}-{yyyyMMddHHmmss}" pattern
+    private static Ticket derived(String plate, String spotID, SpotCategory category,
+                                  String vehicleType, LocalDateTime entryTime) {
+        String id = String.format("T-%s-%04d%02d%02d%02d%02d%02d", plate, entryTime.getYear(),
+                entryTime.getMonthValue(), entryTime.getDayOfMonth(),
+                entryTime.getHour(), entryTime.getMinute(), entryTime.getSecond());
+        return new Ticket(id, plate, spotID, category, entryTime, vehicleType);
+    }
+
+    // Same layout as TicketFileService writes
+    private static String csvLine(Ticket ticket) {
+        String line = String.join(",", ticket.getTicketID(), ticket.getPlateNumber(), ticket.getSpotID(),
+                ticket.getSpotCategory().name(), ticket.getEntryTime().toString());
+        return ticket.getVehicleType() == null ? line : line + "," + ticket.getVehicleType();
+    }
+
+    private static boolean sameTickets(List<Ticket> expected, List<Ticket> actual) {
+        if (expected.size() != actual.size()) return false;
+        for (int i = 0; i < expected.size(); i++) {
+            if (!Arrays.equals(fields(expected.get(i)), fields(actual.get(i)))) {
+                System.out.println("  expected " + Arrays.toString(fields(expected.get(i)))
+                        + " but read " + Arrays.toString(fields(actual.get(i))));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object[] fields(Ticket ticket) {
+        return new Object[] { ticket.getTicketID(), ticket.getPlateNumber(), ticket.getSpotID(),
+                ticket.getSpotCategory(), ticket.getEntryTime(), Objects.toString(ticket.getVehicleType(), "-") };
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println(name + ": " + (passed ? "✓ PASSED" : "✗ FAILED"));
+    }
+}
@@ -0,0 +1,529 @@
+import entity.*;
+import enums.*;
+import logging.EventLog;
+import service.LeastLoadedFloorStrategy;
+import service.NearestSpotStrategy;
+import service.SpotAllocator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress test for concurrent spot allocation
+ * Several entry gates call SpotAllocator.allocateSpot at the same time;
+ * no spot may ever be given to two vehicles and the counters must stay exact
+ * Batch, adjacent-group, nearest-spot and least-loaded claims get the same checks,
+ * and so do claims on the compact spot store (CompactParkingLot)
+ */
+public class TestConcurrentAllocation {
+    private static final int GATES = 8;
+    private static final int CARS_PER_GATE = 250;
+    private static final int BATCH_SIZE = 10;
+    private static final int GROUP_SIZE = 4;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("╔═══════════════════════════════════════════════╗");
+        System.out.println("║  CONCURRENT ALLOCATION STRESS TEST            ║");
+        System.out.println("║  Testing: LOCK_FREE and FLOOR_LOCKED modes    ║");
+        System.out.println("╚═══════════════════════════════════════════════╝\n");
+
+        // Only warnings: the gates should contend on spots, not on the console
+        EventLog.setLevel(LogLevel.WARN);
+
+        for (ConcurrencyMode mode : ConcurrencyMode.values()) {
+            runStressTest(mode);
+            runBatchTest(mode);
+            runAdjacentTest(mode);
+            runNearestTest(mode);
+            runLeastLoadedTest(mode);
+        }
+        runCompactTest();
+
+        System.out.println("\n╔═══════════════════════════════════════════════╗");
+        System.out.println("║  STRESS TEST COMPLETED                        ║");
+        System.out.println("╚═══════════════════════════════════════════════╝");
+    }
+
+    private static void runStressTest(ConcurrencyMode mode) throws InterruptedException {
+        // 4 floors, 10 rows per floor, 25 spots per row = 1000 total spots
+        ParkingLot lot = new ParkingLot("STRESS", 4, 10, 25);
+        SpotAllocator allocator = new SpotAllocator(lot, mode);
+
+        // TEST 1: All gates allocate at once (more cars than spots)
+        Map<String, String> plateBySpot = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<List<Ticket>> ticketsByGate = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            ticketsByGate.add(new ArrayList<>());
+        }
+
+        runGates(gate -> {
+            for (int i = 0; i < CARS_PER_GATE; i++) {
+                Ticket ticket = allocator.allocateSpot(newVehicle("G" + gate + "-" + i, i));
+                if (ticket == null) continue;
+
+                if (plateBySpot.putIfAbsent(ticket.getSpotID(), ticket.getPlateNumber()) != null) {
+                    duplicates.incrementAndGet();
+                }
+                ticketsByGate.get(gate).add(ticket);
+            }
+        });
+
+        System.out.println("\n\nTEST 1 (" + mode + "): Parallel Allocation");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        check("Tickets issued == occupied spots", plateBySpot.size() == lot.getTotalOccupied());
+        check("Every ticketed spot holds its vehicle", holdsTicketedVehicles(lot, plateBySpot));
+        check("Counters match a full scan", countersMatchScan(lot));
+
+        // TEST 2: Gates release and re-allocate at the same time
+        runGates(gate -> {
+            List<Ticket> tickets = ticketsByGate.get(gate);
+            for (int i = 0; i < tickets.size(); i++) {
+                Ticket old = tickets.get(i);
+                plateBySpot.remove(old.getSpotID());
+                allocator.releaseSpot(old.getSpotID());
+
+                Ticket ticket = allocator.allocateSpot(newVehicle("R" + gate + "-" + i, i));
+                if (ticket == null) continue;
+
+                if (plateBySpot.putIfAbsent(ticket.getSpotID(), ticket.getPlateNumber()) != null) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+
+        System.out.println("\n\nTEST 2 (" + mode + "): Parallel Release + Re-allocation");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        check("Tickets held == occupied spots", plateBySpot.size() == lot.getTotalOccupied());
+        check("Every ticketed spot holds its vehicle", holdsTicketedVehicles(lot, plateBySpot));
+        check("Counters match a full scan", countersMatchScan(lot));
+        check("Snapshot matches counters", lot.snapshot().getOccupiedSpots() == lot.getTotalOccupied());
+
+        System.out.println("\nOccupied: " + lot.getTotalOccupied() + " / " + lot.getTotalSpots());
+    }
+
+    private static void runBatchTest(ConcurrencyMode mode) throws InterruptedException {
+        ParkingLot lot = new ParkingLot("BATCH", 4, 10, 25);
+        SpotAllocator allocator = new SpotAllocator(lot, mode);
+
+        // TEST 3: All gates allocate in batches, every other batch kept together
+        Map<String, String> plateBySpot = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger misplaced = new AtomicInteger();
+
+        runGates(gate -> {
+            for (int round = 0; round < CARS_PER_GATE / BATCH_SIZE; round++) {
+                List<Vehicle> vehicles = new ArrayList<>();
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    vehicles.add(newVehicle("B" + gate + "-" + round + "-" + i, i));
+                }
+                List<Ticket> tickets = allocator.allocateBatch(vehicles, round % 2 == 0);
+                for (int i = 0; i < tickets.size(); i++) {
+                    Ticket ticket = tickets.get(i);
+                    if (ticket == null) continue;
+
+                    if (!ticket.getPlateNumber().equals(vehicles.get(i).getPlateNumber())) {
+                        misplaced.incrementAndGet();
+                    }
+                    if (plateBySpot.putIfAbsent(ticket.getSpotID(), ticket.getPlateNumber()) != null) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        System.out.println("\n\nTEST 3 (" + mode + "): Parallel Batch Allocation");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        check("Tickets in vehicle order", misplaced.get() == 0);
+        check("Tickets issued == occupied spots", plateBySpot.size() == lot.getTotalOccupied());
+        check("Every ticketed spot holds its vehicle", holdsTicketedVehicles(lot, plateBySpot));
+        check("Counters match a full scan", countersMatchScan(lot));
+    }
+
+    private static void runAdjacentTest(ConcurrencyMode mode) throws InterruptedException {
+        ParkingLot lot = new ParkingLot("ADJACENT", 4, 10, 25);
+        boolean locked = mode == ConcurrencyMode.FLOOR_LOCKED;
+
+        // TEST 4: All gates claim neighbouring spots for groups until the lot is full
+        Map<String, String> plateBySpot = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger split = new AtomicInteger();
+        AtomicInteger unsuitable = new AtomicInteger();
+
+        runGates(gate -> {
+            for (int round = 0; round < CARS_PER_GATE / GROUP_SIZE; round++) {
+                int[] suitable = new int[GROUP_SIZE];
+                String[] plates = new String[GROUP_SIZE];
+                for (int i = 0; i < GROUP_SIZE; i++) {
+                    plates[i] = "A" + gate + "-" + round + "-" + i;
+                    suitable[i] = newVehicle(plates[i], i).getSuitableSpotMask();
+                }
+                ParkingSpot[] claimed = new ParkingSpot[GROUP_SIZE];
+                if (!lot.claimAdjacentSpots(suitable, plates, claimed, locked)) {
+                    if (Arrays.stream(claimed).anyMatch(spot -> spot != null)) {
+                        split.incrementAndGet();   // A failed group must hand back everything
+                    }
+                    continue;
+                }
+
+                int floorNo = SpotIdCodec.floorOf(SpotIdCodec.decode(claimed[0].getSpotID()));
+                for (int i = 0; i < GROUP_SIZE; i++) {
+                    if (SpotIdCodec.floorOf(SpotIdCodec.decode(claimed[i].getSpotID())) != floorNo) {
+                        split.incrementAndGet();
+                    }
+                    if ((suitable[i] & (1 << claimed[i].getCategory().ordinal())) == 0) {
+                        unsuitable.incrementAndGet();
+                    }
+                    if (plateBySpot.putIfAbsent(claimed[i].getSpotID(), plates[i]) != null) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        System.out.println("\n\nTEST 4 (" + mode + "): Parallel Adjacent Groups");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        check("Every group on one floor, failed groups hold nothing", split.get() == 0);
+        check("Every spot suits its vehicle", unsuitable.get() == 0);
+        check("Claimed spots == occupied spots", plateBySpot.size() == lot.getTotalOccupied());
+        check("Every claimed spot holds its vehicle", holdsTicketedVehicles(lot, plateBySpot));
+        check("Counters match a full scan", countersMatchScan(lot));
+    }
+
+    private static void runNearestTest(ConcurrencyMode mode) throws InterruptedException {
+        int rows = 10;
+        int spotsPerRow = 25;
+        int floorDistance = rows + spotsPerRow + 1;   // NearestSpotStrategy's default
+        ParkingLot lot = new ParkingLot("NEAREST", 4, rows, spotsPerRow);
+
+        // Two entrances on one lot: gate A at row 1 / spot 1, gate B at the far corner
+        SpotAllocator fromA = new SpotAllocator(lot, mode, new NearestSpotStrategy(lot, 1, 1));
+        SpotAllocator fromB = new SpotAllocator(lot, mode, new NearestSpotStrategy(lot, rows, spotsPerRow));
+
+        // TEST 5: Gates allocate from A, then from B, filling about a third of the lot
+        Map<String, String> plateBySpot = new ConcurrentHashMap<>();
+        Map<String, String> claimedFromB = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        int perGate = CARS_PER_GATE / 15;
+
+        runGates(gate -> {
+            for (int i = 0; i < perGate; i++) {
+                Ticket ticket = fromA.allocateSpot(newVehicle("NA" + gate + "-" + i, i));
+                if (ticket != null && plateBySpot.putIfAbsent(ticket.getSpotID(), ticket.getPlateNumber()) != null) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+        boolean nearestToA = claimedNearestFirst(lot, plateBySpot.keySet(), 1, 1, floorDistance);
+
+        runGates(gate -> {
+            for (int i = 0; i < perGate; i++) {
+                Ticket ticket = fromB.allocateSpot(newVehicle("NB" + gate + "-" + i, i));
+                if (ticket == null) continue;
+
+                claimedFromB.put(ticket.getSpotID(), ticket.getPlateNumber());
+                if (plateBySpot.putIfAbsent(ticket.getSpotID(), ticket.getPlateNumber()) != null) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+        boolean nearestToB = claimedNearestFirst(lot, claimedFromB.keySet(), rows, spotsPerRow, floorDistance);
+
+        System.out.println("\n\nTEST 5 (" + mode + "): Parallel Nearest-Spot Allocation, Two Gates");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        check("Gate A got no spot farther than a free one", nearestToA);
+        check("Gate B got no spot farther than a free one", nearestToB);
+        check("Tickets issued == occupied spots", plateBySpot.size() == lot.getTotalOccupied());
+        check("Every ticketed spot holds its vehicle", holdsTicketedVehicles(lot, plateBySpot));
+        check("Counters match a full scan", countersMatchScan(lot));
+    }
+
+    private static void runLeastLoadedTest(ConcurrencyMode mode) throws InterruptedException {
+        ParkingLot lot = new ParkingLot("SPREAD", 4, 10, 25);
+        SpotAllocator allocator = new SpotAllocator(lot, mode, new LeastLoadedFloorStrategy(lot));
+
+        // TEST 6: Gates allocate about a third of the lot, spread over the floors
+        Map<String, String> plateBySpot = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        int perGate = CARS_PER_GATE / 6;
+
+        runGates(gate -> {
+            for (int i = 0; i < perGate; i++) {
+                Ticket ticket = allocator.allocateSpot(newVehicle("L" + gate + "-" + i, i));
+                if (ticket != null && plateBySpot.putIfAbsent(ticket.getSpotID(), ticket.getPlateNumber()) != null) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+
+        int fullest = 0;
+        int emptiest = Integer.MAX_VALUE;
+        for (Floor floor : lot.getFloors()) {
+            fullest = Math.max(fullest, floor.getOccupiedCount());
+            emptiest = Math.min(emptiest, floor.getOccupiedCount());
+        }
+
+        System.out.println("\n\nTEST 6 (" + mode + "): Parallel Least-Loaded Allocation");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        // Each gate may act on counters one claim old, so allow one vehicle per gate
+        check("Floors stay balanced", fullest - emptiest <= GATES);
+        check("Tickets issued == occupied spots", plateBySpot.size() == lot.getTotalOccupied());
+        check("Every ticketed spot holds its vehicle", holdsTicketedVehicles(lot, plateBySpot));
+        check("Counters match a full scan", countersMatchScan(lot));
+        check("A car goes to the emptier floor, whichever category has room", carTakesEmptierFloor(mode));
+    }
+
+    // Floor 2 has no COMPACT spot left but is emptier than floor 1, so a car
+    // (COMPACT or REGULAR) must get a REGULAR spot there, not floor 1's COMPACT
+    private static boolean carTakesEmptierFloor(ConcurrencyMode mode) {
+        ParkingLot lot = new ParkingLot("SPREAD2", 2, 2, 10);
+        Floor busy = lot.getFloors().get(0);
+        Floor empty = lot.getFloors().get(1);
+        int compactTaken = 0;
+        for (ParkingSpot spot : empty.getSpots()) {
+            if (spot.getCategory() == SpotCategory.COMPACT && spot.tryOccupy("PRE" + compactTaken)) {
+                compactTaken++;
+            }
+        }
+        int others = 0;
+        for (ParkingSpot spot : busy.getSpots()) {
+            if (others > compactTaken) break;
+            if (spot.getCategory() != SpotCategory.COMPACT && spot.tryOccupy("BUSY" + others)) {
+                others++;
+            }
+        }
+
+        SpotAllocator allocator = new SpotAllocator(lot, mode, new LeastLoadedFloorStrategy(lot));
+        Ticket ticket = allocator.allocateSpot(new Car("SPREAD-CAR"));
+        return ticket != null && ticket.getSpotID().startsWith("F2-")
+                && ticket.getSpotCategory() == SpotCategory.REGULAR;
+    }
+
+    private static void runCompactTest() throws InterruptedException {
+        CompactParkingLot lot = new CompactParkingLot("COMPACT", 4, 10, 25);
+        SpotCategory[] categories = SpotCategory.values();
+
+        // TEST 7: All gates claim on the compact spot store at once (more cars than spots)
+        Map<Integer, String> plateByHandle = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<List<Integer>> handlesByGate = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            handlesByGate.add(new ArrayList<>());
+        }
+
+        runGates(gate -> {
+            for (int i = 0; i < CARS_PER_GATE; i++) {
+                String plate = "C" + gate + "-" + i;
+                int handle = lot.claimFirstAvailable(categories[i % categories.length], plate);
+                if (handle < 0) continue;
+
+                if (plateByHandle.putIfAbsent(handle, plate) != null) {
+                    duplicates.incrementAndGet();
+                }
+                handlesByGate.get(gate).add(handle);
+            }
+        });
+
+        System.out.println("\n\nTEST 7 (COMPACT): Parallel Allocation");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        check("Claims == occupied spots", plateByHandle.size() == lot.getTotalOccupied());
+        check("Every claimed spot holds its vehicle", holdsClaimedVehicles(lot, plateByHandle));
+        check("Counters match a full scan", compactCountersMatchScan(lot));
+
+        // TEST 8: Gates release and re-claim at the same time
+        runGates(gate -> {
+            List<Integer> handles = handlesByGate.get(gate);
+            for (int i = 0; i < handles.size(); i++) {
+                int old = handles.get(i);
+                plateByHandle.remove(old);
+                lot.tryRelease(old);
+
+                String plate = "CR" + gate + "-" + i;
+                int handle = lot.claimFirstAvailable(categories[i % categories.length], plate);
+                if (handle < 0) continue;
+
+                if (plateByHandle.putIfAbsent(handle, plate) != null) {
+                    duplicates.incrementAndGet();
+                }
+                handles.set(i, handle);
+            }
+        });
+
+        System.out.println("\n\nTEST 8 (COMPACT): Parallel Release + Re-claim");
+        System.out.println("─────────────────────────────────");
+        check("No spot allocated twice", duplicates.get() == 0);
+        check("Claims held == occupied spots", plateByHandle.size() == lot.getTotalOccupied());
+        check("Every claimed spot holds its vehicle", holdsClaimedVehicles(lot, plateByHandle));
+        check("Counters match a full scan", compactCountersMatchScan(lot));
+        check("Snapshot matches counters", lot.snapshot().getOccupiedSpots() == lot.getTotalOccupied());
+
+        // TEST 9: Every gate releases the same spots at once
+        List<Integer> held = new ArrayList<>(plateByHandle.keySet());
+        AtomicInteger released = new AtomicInteger();
+        runGates(gate -> {
+            for (int handle : held) {
+                if (lot.tryRelease(handle)) {
+                    released.incrementAndGet();
+                }
+            }
+        });
+
+        boolean plateLeft = false;
+        for (int handle = 0; handle < lot.getTotalSpots(); handle++) {
+            plateLeft |= lot.getVehicle(handle) != null;
+        }
+
+        System.out.println("\n\nTEST 9 (COMPACT): Parallel Release of the Same Spots");
+        System.out.println("─────────────────────────────────");
+        check("Each spot released exactly once", released.get() == held.size());
+        check("Lot is empty", lot.getTotalOccupied() == 0);
+        check("No plate left on a free spot", !plateLeft);
+        check("Counters match a full scan", compactCountersMatchScan(lot));
+    }
+
+    private interface Gate {
+        void run(int gate);
+    }
+
+    // Start all gates together and wait for them to finish
+    private static void runGates(Gate work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            final int gate = g;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                    work.run(gate);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    // Mix of vehicle types so every category is contended
+    private static Vehicle newVehicle(String plate, int i) {
+        switch (i % 4) {
+            case 0:  return new Motorcycle(plate);
+            case 1:  return new Car(plate);
+            case 2:  return new SUV(plate);
+            default: return new HandicappedVehicle(plate);
+        }
+    }
+
+    private static boolean holdsTicketedVehicles(ParkingLot lot, Map<String, String> plateBySpot) {
+        for (Map.Entry<String, String> entry : plateBySpot.entrySet()) {
+            ParkingSpot spot = lot.getSpotByID(entry.getKey());
+            if (spot.getStatus() != SpotStatus.OCCUPIED
+                    || !entry.getValue().equals(spot.getCurrentVehicle())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean countersMatchScan(ParkingLot lot) {
+        for (Floor floor : lot.getFloors()) {
+            int occupied = 0;
+            int[] available = new int[SpotCategory.values().length];
+            for (ParkingSpot spot : floor.getSpots()) {
+                if (spot.getStatus() == SpotStatus.OCCUPIED) {
+                    occupied++;
+                } else {
+                    available[spot.getCategory().ordinal()]++;
+                }
+            }
+            if (occupied != floor.getOccupiedCount()) return false;
+            for (SpotCategory category : SpotCategory.values()) {
+                if (available[category.ordinal()] != floor.getAvailableCount(category)
+                        || available[category.ordinal()] != floor.getAvailableSpots(category).size()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean holdsClaimedVehicles(CompactParkingLot lot, Map<Integer, String> plateByHandle) {
+        for (Map.Entry<Integer, String> entry : plateByHandle.entrySet()) {
+            if (!lot.isOccupied(entry.getKey()) || !entry.getValue().equals(lot.getVehicle(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean compactCountersMatchScan(CompactParkingLot lot) {
+        int occupied = 0;
+        int[] available = new int[SpotCategory.values().length];
+        for (int handle = 0; handle < lot.getTotalSpots(); handle++) {
+            if (lot.isOccupied(handle)) {
+                occupied++;
+            } else {
+                available[lot.getCategory(handle).ordinal()]++;
+            }
+        }
+        if (occupied != lot.getTotalOccupied()) return false;
+        for (SpotCategory category : SpotCategory.values()) {
+            if (available[category.ordinal()] != lot.getAvailableCount(category)
+                    || available[category.ordinal()] != lot.findAvailableSpots(category).size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // No claimed spot of a category is farther from the gate than a spot of it still free
+    // Cost as in NearestSpotStrategy: floors climbed * floorDistance + walk on the floor
+    private static boolean claimedNearestFirst(ParkingLot lot, Collection<String> claimedIDs,
+                                               int gateRow, int gateSpot, int floorDistance) {
+        for (SpotCategory category : SpotCategory.values()) {
+            long farthestClaimed = -1;
+            for (String spotID : claimedIDs) {
+                ParkingSpot spot = lot.getSpotByID(spotID);
+                if (spot.getCategory() == category) {
+                    farthestClaimed = Math.max(farthestClaimed, cost(spotID, gateRow, gateSpot, floorDistance));
+                }
+            }
+            for (Floor floor : lot.getFloors()) {
+                for (ParkingSpot spot : floor.getAvailableSpots(category)) {
+                    if (cost(spot.getSpotID(), gateRow, gateSpot, floorDistance) < farthestClaimed) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long cost(String spotID, int gateRow, int gateSpot, int floorDistance) {
+        long decoded = SpotIdCodec.decode(spotID);
+        return (long) (SpotIdCodec.floorOf(decoded) - 1) * floorDistance
+                + Math.abs(SpotIdCodec.rowOf(decoded) - gateRow)
+                + Math.abs(SpotIdCodec.spotOf(decoded) - gateSpot);
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println(name + ": " + (passed ? "✓ PASSED" : "✗ FAILED"));
+    }
+}
@@ -1,23 +1,38 @@
-import entity.ParkingLot;
-import javax.swing.*;
-import service.SpotAllocator;
-import ui.EntryPanel;
-
-public class TestEntryPanelUI {
-    public static void main(String[] args) {
-
-        ParkingLot lot = new ParkingLot("MAIN", 3, 2, 5);
-
-        SpotAllocator allocator = new SpotAllocator(lot);
-
-        EntryPanel entryPanel = new EntryPanel(allocator);
-
-        JFrame frame = new JFrame("Parking Lot - Entry Panel");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(500, 400);
-
-        frame.add(entryPanel);
-
-        frame.setVisible(true);
-    }
-}
+import control.InMemoryParkingSessionRepository;
+import control.InMemoryVehicleRepository;
+import control.SessionRecorder;
+import entity.ParkingLot;
+import entity.Ticket;
+import java.util.List;
+import javax.swing.*;
+import service.SpotAllocator;
+import service.TicketFileService;
+import ui.EntryPanel;
+
+public class TestEntryPanelUI {
+    public static void main(String[] args) {
+
+        ParkingLot lot = new ParkingLot("MAIN", 3, 2, 5);
+
+        // Put back vehicles that were parked when the system last stopped
+        List<Ticket> restored = TicketFileService.recoverOccupancy(lot);
+
+        // Every ticket (recovered or new) becomes an active session for exit
+        SessionRecorder recorder = new SessionRecorder(new InMemoryParkingSessionRepository(),
+                new InMemoryVehicleRepository());
+        recorder.restoreSessions(restored);
+
+        SpotAllocator allocator = new SpotAllocator(lot);
+        allocator.addAllocationListener(recorder);
+
+        EntryPanel entryPanel = new EntryPanel(allocator);
+
+        JFrame frame = new JFrame("Parking Lot - Entry Panel");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setSize(500, 400);
+
+        frame.add(entryPanel);
+
+        frame.setVisible(true);
+    }
+}
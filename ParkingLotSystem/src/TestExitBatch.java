@@ -0,0 +1,223 @@
+import control.ExitController;
+import control.InMemoryParkingSessionRepository;
+import control.InMemoryVehicleRepository;
+import control.ParkingSessionRepository;
+import control.ParkingSpotLookup;
+import control.SessionRecorder;
+import control.VehicleRepository;
+import entity.*;
+import enums.ConcurrencyMode;
+import enums.LogLevel;
+import enums.SpotCategory;
+import enums.SpotStatus;
+import logging.EventLog;
+import service.BillingService;
+import service.FixedFineService;
+import service.PaymentService;
+import service.SpotAllocator;
+import service.TicketFileService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test for exit settlement (ExitController.exitLot / exitLotBatch)
+ * A batch with a bad request must change nothing, and one plate
+ * must never be charged twice, even by two gates at once, nor be fined
+ * twice when a failed payment is retried
+ */
+public class TestExitBatch {
+    private static final int GATES = 8;
+    private static final Money PAID_IN_FULL = Money.ofRinggit(100);
+    private static final int EXITS_PER_GATE = 50;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("╔═══════════════════════════════════════════════╗");
+        System.out.println("║  EXIT SETTLEMENT TEST                         ║");
+        System.out.println("║  Testing: batch validation, double exit       ║");
+        System.out.println("╚═══════════════════════════════════════════════╝\n");
+
+        EventLog.setLevel(LogLevel.WARN);
+
+        ParkingLot lot = new ParkingLot("EXIT", 1, 2, 5);
+        ParkingSessionRepository sessionRepo = new InMemoryParkingSessionRepository();
+        VehicleRepository vehicleRepo = new InMemoryVehicleRepository();
+        SpotAllocator allocator = new SpotAllocator(lot);
+        allocator.addAllocationListener(new SessionRecorder(sessionRepo, vehicleRepo));
+        BillingService billingService = new BillingService();
+        FixedFineService fineService = new FixedFineService();
+        ExitController exitController = new ExitController(billingService, fineService,
+                new PaymentService(), sessionRepo, vehicleRepo, new ParkingSpotLookup(lot));
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            tickets.add(allocator.allocateSpot(new Car("BATCH" + i)));
+        }
+
+        // TEST 1: The last request has a payment method nobody accepts
+        List<ExitController.ExitRequest> requests = new ArrayList<>();
+        requests.add(new ExitController.ExitRequest("BATCH1", "CASH", PAID_IN_FULL));
+        requests.add(new ExitController.ExitRequest("BATCH2", "CARD", PAID_IN_FULL));
+        requests.add(new ExitController.ExitRequest("BATCH3", "BITCOIN", PAID_IN_FULL));
+
+        boolean rejected = false;
+        try {
+            exitController.exitLotBatch(requests);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+
+        System.out.println("TEST 1: Batch With a Bad Payment Method Last");
+        System.out.println("─────────────────────────────────");
+        check("Batch is rejected", rejected);
+        check("Every session is still active", sessionRepo.countActive() == 3);
+        check("Every vehicle is still known", vehicleRepo.findByPlate("BATCH1") != null
+                && vehicleRepo.findByPlate("BATCH2") != null && vehicleRepo.findByPlate("BATCH3") != null);
+        check("Every spot is still occupied", allOccupied(lot, tickets));
+        check("No revenue recorded", exitController.getRevenue().getPaymentCount() == 0);
+
+        // TEST 2: The same batch with a valid method goes through
+        requests.set(2, new ExitController.ExitRequest("BATCH3", "CASH", PAID_IN_FULL));
+        List<Receipt> receipts = exitController.exitLotBatch(requests);
+
+        System.out.println("\n\nTEST 2: Valid Batch");
+        System.out.println("─────────────────────────────────");
+        check("One receipt per request", receipts.size() == 3);
+        check("No session left", sessionRepo.countActive() == 0);
+        check("Every spot released", lot.getTotalOccupied() == 0);
+        check("Three payments recorded", exitController.getRevenue().getPaymentCount() == 3);
+
+        // TEST 3: Every gate tries to settle the same plate at once
+        allocator.allocateSpot(new Car("TWICE"));
+        long paymentsBefore = exitController.getRevenue().getPaymentCount();
+        AtomicInteger settled = new AtomicInteger();
+        runGates(gate -> {
+            try {
+                exitController.exitLot("TWICE", "CASH", PAID_IN_FULL);
+                settled.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                // Another gate settled it first
+            }
+        });
+
+        System.out.println("\n\nTEST 3: Parallel Exit of One Plate");
+        System.out.println("─────────────────────────────────");
+        check("Exactly one gate settles", settled.get() == 1);
+        check("Charged exactly once", exitController.getRevenue().getPaymentCount() - paymentsBefore == 1);
+        check("Spot released", lot.getTotalOccupied() == 0);
+
+        // TEST 4: An overstayed car pays with a bad method, then retries
+        Ticket late = allocator.allocateSpot(new Car("LATE"));
+        ParkingSession recorded = sessionRepo.closeSession("LATE");
+        ParkingSession overstayed = new ParkingSession(recorded.getSessionId(), "LATE", late.getSpotID(),
+                LocalDateTime.now().minusHours(30).minusMinutes(30));
+        sessionRepo.save(overstayed);
+
+        boolean badMethodRejected = false;
+        try {
+            exitController.exitLot("LATE", "BITCOIN", PAID_IN_FULL);
+        } catch (IllegalArgumentException e) {
+            badMethodRejected = true;
+        }
+        boolean nothingOwedAfterFailure = fineService.getOutstanding("LATE").isZero();
+
+        Money fineOnce = Money.ofRinggit(50);
+        Money expectedDue = billingService.buildBill(overstayed, lot.getSpotByID(late.getSpotID()),
+                vehicleRepo.findByPlate("LATE"), LocalDateTime.now(), fineOnce).getTotalDue();
+        List<Money> collected = new ArrayList<>();
+        exitController.addPaymentListener((plateNo, spot, payment, amount) -> collected.add(amount));
+        exitController.exitLot("LATE", "CASH", Money.ofRinggit(1000));
+
+        System.out.println("\n\nTEST 4: Failed Payment, Then Retry");
+        System.out.println("─────────────────────────────────");
+        check("Bad method is rejected", badMethodRejected);
+        check("No fine left in the ledger by the failed attempt", nothingOwedAfterFailure);
+        check("Retry charged the overstay fine once", collected.size() == 1 && collected.get(0).equals(expectedDue));
+        check("Nothing owed after paying", fineService.getOutstanding("LATE").isZero());
+        check("Spot released", lot.getTotalOccupied() == 0);
+
+        // TEST 5: FLOOR_LOCKED gates park and exit cars on a small lot at once
+        ParkingLot lockedLot = new ParkingLot("LOCKED", 2, 2, 5);
+        ParkingSessionRepository lockedSessions = new InMemoryParkingSessionRepository();
+        VehicleRepository lockedVehicles = new InMemoryVehicleRepository();
+        SpotAllocator lockedAllocator = new SpotAllocator(lockedLot, ConcurrencyMode.FLOOR_LOCKED);
+        lockedAllocator.addAllocationListener(new SessionRecorder(lockedSessions, lockedVehicles));
+        ExitController lockedExit = new ExitController(new BillingService(), new FixedFineService(),
+                new PaymentService(), lockedSessions, lockedVehicles,
+                new ParkingSpotLookup(lockedLot, lockedAllocator.getMode()));
+        AtomicInteger parked = new AtomicInteger();
+        AtomicInteger left = new AtomicInteger();
+        runGates(gate -> {
+            for (int i = 0; i < EXITS_PER_GATE; i++) {
+                String plate = "LOCK" + gate + "X" + i;
+                if (lockedAllocator.allocateSpot(new Car(plate)) == null) continue;
+                parked.incrementAndGet();
+                lockedExit.exitLot(plate, "CASH", PAID_IN_FULL);
+                left.incrementAndGet();
+            }
+        });
+
+        System.out.println("\n\nTEST 5: Parallel Park and Exit (FLOOR_LOCKED)");
+        System.out.println("─────────────────────────────────");
+        check("Every parked car left", parked.get() > 0 && left.get() == parked.get());
+        check("Every spot released", lockedLot.getTotalOccupied() == 0);
+        check("Free counts match the spots", availableByCategory(lockedLot) == lockedLot.getTotalSpots());
+
+        TicketFileService.closeJournal();
+
+        System.out.println("\n╔═══════════════════════════════════════════════╗");
+        System.out.println("║  EXIT SETTLEMENT TEST COMPLETED               ║");
+        System.out.println("╚═══════════════════════════════════════════════╝");
+    }
+
+    private interface Gate {
+        void run(int gate);
+    }
+
+    // Start all gates together and wait for them to finish
+    private static void runGates(Gate work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            final int gate = g;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                    work.run(gate);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    private static boolean allOccupied(ParkingLot lot, List<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            if (lot.getSpotByID(ticket.getSpotID()).getStatus() != SpotStatus.OCCUPIED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int availableByCategory(ParkingLot lot) {
+        int available = 0;
+        for (SpotCategory category : SpotCategory.values()) {
+            available += lot.getAvailableCount(category);
+        }
+        return available;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println(name + ": " + (passed ? "✓ PASSED" : "✗ FAILED"));
+    }
+}
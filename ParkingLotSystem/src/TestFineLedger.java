@@ -0,0 +1,223 @@
+import entity.Money;
+import enums.LogLevel;
+import logging.EventLog;
+import service.PersistentFineLedger;
+import service.TicketJournal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Test for PersistentFineLedger recovery
+ * Balances written before a restart must come back exactly, whether they
+ * are in the WAL, in a snapshot, or behind a record cut off by a crash,
+ * and bulk settlements from several gates must neither deadlock nor lose a fine
+ */
+public class TestFineLedger {
+    private static final int GATES = 8;
+    private static final int ROUNDS = 200;
+    private static final int PLATES = 40;              // Spread over many lock stripes
+    private static final long NO_AUTO_SNAPSHOT = Long.MAX_VALUE;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.out.println("╔═══════════════════════════════════════════════╗");
+        System.out.println("║  FINE LEDGER TEST                             ║");
+        System.out.println("║  Testing: WAL replay, snapshots, torn tail    ║");
+        System.out.println("╚═══════════════════════════════════════════════╝\n");
+
+        EventLog.setLevel(LogLevel.WARN);
+
+        // TEST 1: Balances come back from the WAL alone
+        Path dir = Files.createTempDirectory("fine-ledger-");
+        Map<String, Money> written;
+        try (PersistentFineLedger ledger = open(dir)) {
+            ledger.addOutstanding("WAL1", Money.ofRinggit(50), "OVERSTAY");
+            ledger.addOutstanding("WAL1", Money.parse("12.35"), "UNDERPAY_AT_EXIT");
+            ledger.addOutstanding("WAL2", Money.ofSen(1), "UNDERPAY_AT_EXIT");
+            ledger.addOutstanding("WAL3", Money.ofRinggit(100), "RESERVED_MISUSE");
+            ledger.clearOutstanding("WAL3");
+            written = ledger.getAllOutstanding();
+        }
+        Map<String, Money> replayed;
+        try (PersistentFineLedger ledger = open(dir)) {
+            replayed = ledger.getAllOutstanding();
+        }
+
+        System.out.println("TEST 1: WAL Replay");
+        System.out.println("─────────────────────────────────");
+        check("Balances match after reopening", replayed.equals(written));
+        check("Amounts added up to the sen", Money.parse("62.35").equals(replayed.get("WAL1")));
+        check("Cleared plate stays cleared", !replayed.containsKey("WAL3"));
+
+        // TEST 2: A snapshot covers the old WAL, newer records still replay on top
+        try (PersistentFineLedger ledger = open(dir)) {
+            ledger.addOutstanding("SNAP1", Money.ofRinggit(20), "OVERSTAY");
+            ledger.snapshot();
+            ledger.addOutstanding("SNAP1", Money.ofRinggit(5), "UNDERPAY_AT_EXIT");
+            ledger.clearOutstanding("WAL2");
+            written = ledger.getAllOutstanding();
+        }
+        List<Path> wals = walFiles(dir);
+        String snapshot = new String(Files.readAllBytes(dir.resolve("snapshot.csv")), StandardCharsets.UTF_8);
+        try (PersistentFineLedger ledger = open(dir)) {
+            replayed = ledger.getAllOutstanding();
+        }
+
+        System.out.println("\n\nTEST 2: Snapshot Rotation");
+        System.out.println("─────────────────────────────────");
+        check("Covered WAL files are deleted", wals.size() == 1);
+        check("Snapshot holds the balance at snapshot time", snapshot.contains("SNAP1,20.00"));
+        check("Balances match after reopening", replayed.equals(written));
+        check("Later WAL records are applied on top", Money.ofRinggit(25).equals(replayed.get("SNAP1")));
+        check("Later clear is applied on top", !replayed.containsKey("WAL2"));
+
+        // TEST 3: The last WAL record was cut off by a crash
+        written = replayed;
+        appendTo(last(walFiles(dir)), "ADD,TORN,99.00,OVERSTAY,1\nADD,TORN,50.0");
+        try (PersistentFineLedger ledger = open(dir)) {
+            replayed = ledger.getAllOutstanding();
+            ledger.addOutstanding("AFTER", Money.ofRinggit(1), "OVERSTAY");
+        }
+        Map<String, Money> expected = new HashMap<>(written);
+        expected.put("TORN", Money.ofRinggit(99));
+        Map<String, Money> reopened;
+        try (PersistentFineLedger ledger = open(dir)) {
+            reopened = ledger.getAllOutstanding();
+        }
+
+        System.out.println("\n\nTEST 3: Torn WAL Tail");
+        System.out.println("─────────────────────────────────");
+        check("Complete records before the tear are kept", replayed.equals(expected));
+        check("Ledger still writes after recovering", Money.ofRinggit(1).equals(reopened.get("AFTER")));
+        check("Torn record is not applied on a later start", Money.ofRinggit(99).equals(reopened.get("TORN")));
+        deleteAll(dir);
+
+        // TEST 4: Gates settle overlapping plates in opposite orders while others add fines
+        dir = Files.createTempDirectory("fine-ledger-");
+        PersistentFineLedger bulk = open(dir);
+        boolean finished = runGates(gate -> {
+            List<String> plates = new ArrayList<>();
+            for (int p = 0; p < PLATES; p++) {
+                plates.add("SETTLE" + p);
+            }
+            if (gate % 2 == 1) Collections.reverse(plates);
+            Map<String, Money> balances = new LinkedHashMap<>();
+            for (String plate : plates) {
+                balances.put(plate, Money.ofRinggit(10));
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+                bulk.settleAll(balances, "BULK_EXIT");
+                bulk.addOutstanding("GATE" + gate, Money.ofSen(1), "UNDERPAY_AT_EXIT");
+            }
+        });
+
+        System.out.println("\n\nTEST 4: Concurrent settleAll (" + GATES + " gates x " + ROUNDS + " rounds)");
+        System.out.println("─────────────────────────────────");
+        check("Every gate finished (no lock-order deadlock)", finished);
+        if (!finished) return;                          // Stuck gates still hold the ledger
+        written = bulk.getAllOutstanding();
+        bulk.close();
+        try (PersistentFineLedger ledger = open(dir)) {
+            replayed = ledger.getAllOutstanding();
+        }
+        boolean settled = true;
+        boolean added = true;
+        for (int p = 0; p < PLATES; p++) {
+            settled &= Money.ofRinggit(10).equals(replayed.get("SETTLE" + p));
+        }
+        for (int g = 0; g < GATES; g++) {
+            added &= Money.ofSen(ROUNDS).equals(replayed.get("GATE" + g));
+        }
+        check("Settled plates hold exactly the new balance", settled);
+        check("No single-plate fine lost between settlements", added);
+        check("Balances match after reopening", replayed.equals(written));
+        deleteAll(dir);
+
+        System.out.println("\n╔═══════════════════════════════════════════════╗");
+        System.out.println("║  FINE LEDGER TEST COMPLETED                   ║");
+        System.out.println("╚═══════════════════════════════════════════════╝");
+    }
+
+    // SYNC so every record is on disk when close() returns; snapshots only when asked
+    private static PersistentFineLedger open(Path dir) throws IOException {
+        return new PersistentFineLedger(dir, TicketJournal.Durability.SYNC, NO_AUTO_SNAPSHOT);
+    }
+
+    private static List<Path> walFiles(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "wal-*.log")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private static Path last(List<Path> files) {
+        return files.get(files.size() - 1);
+    }
+
+    private static void appendTo(Path file, String text) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private interface Gate {
+        void run(int gate);
+    }
+
+    // Start all gates together; false if any of them is still running after a minute
+    private static boolean runGates(Gate work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            final int gate = g;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                    work.run(gate);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            t.setDaemon(true);
+            threads.add(t);
+            t.start();
+        }
+        start.countDown();
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        boolean finished = true;
+        for (Thread t : threads) {
+            t.join(Math.max(1, deadline - System.currentTimeMillis()));
+            finished &= !t.isAlive();
+        }
+        return finished;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println(name + ": " + (passed ? "✓ PASSED" : "✗ FAILED"));
+    }
+}
@@ -0,0 +1,112 @@
+import entity.Money;
+import enums.SpotCategory;
+import service.RevenueAccumulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test for RevenueAccumulator's time buckets
+ * A bucket that has rolled off the ring must not leak into the bucket that
+ * reuses its slot, even when both are being recorded at the same moment
+ */
+public class TestRevenueAccumulator {
+    private static final int GATES = 8;
+    private static final int PAYMENTS_PER_GATE = 500;
+    private static final int ROUNDS = 200;
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("╔═══════════════════════════════════════════════╗");
+        System.out.println("║  REVENUE ACCUMULATOR TEST                     ║");
+        System.out.println("║  Testing: time bucket rollover                ║");
+        System.out.println("╚═══════════════════════════════════════════════╝\n");
+
+        // TEST 1: A new lap of the ring replaces the old bucket in the same slot
+        RevenueAccumulator revenue = new RevenueAccumulator(60, 48);
+        revenue.record(SpotCategory.REGULAR, "CASH", Money.ofRinggit(5), 0);
+        revenue.record(SpotCategory.REGULAR, "CASH", Money.ofRinggit(7), 60 * MINUTE);
+        revenue.record(SpotCategory.REGULAR, "CASH", Money.ofRinggit(9), 0); // Too old now
+        Money[] byMinute = revenue.getRevenueByMinute(60 * MINUTE);
+
+        System.out.println("TEST 1: Sequential Rollover");
+        System.out.println("─────────────────────────────────");
+        check("Newest minute holds only the new lap", byMinute[byMinute.length - 1].equals(Money.ofRinggit(7)));
+        check("Rolled-off minute is not shown", sum(byMinute).equals(Money.ofRinggit(7)));
+        check("Total still counts every payment", revenue.getTotal().equals(Money.ofRinggit(21)));
+
+        // TEST 2: Gates record into the old and the new lap of one slot at once
+        // Old-lap payments are 1 sen, new-lap payments 1000 sen, so any leak shows up
+        int leaks = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            RevenueAccumulator racing = new RevenueAccumulator(2, 48);
+            long oldLap = 10 * MINUTE;
+            long newLap = 12 * MINUTE;   // Same slot in a ring of 2
+            racing.record(SpotCategory.COMPACT, "CASH", Money.ofSen(1), oldLap);
+
+            runGates(gate -> {
+                boolean recordsNewLap = gate % 2 == 0;
+                for (int i = 0; i < PAYMENTS_PER_GATE; i++) {
+                    racing.record(SpotCategory.COMPACT, "CASH",
+                            recordsNewLap ? Money.ofSen(1000) : Money.ofSen(1),
+                            recordsNewLap ? newLap : oldLap);
+                }
+            });
+
+            Money[] series = racing.getRevenueByMinute(newLap);
+            long newestSen = series[series.length - 1].getSen();
+            if (newestSen != (long) (GATES / 2) * PAYMENTS_PER_GATE * 1000) {
+                leaks++;
+            }
+        }
+
+        System.out.println("\n\nTEST 2: Concurrent Rollover (" + ROUNDS + " rounds)");
+        System.out.println("─────────────────────────────────");
+        check("No old-lap amount in the new bucket", leaks == 0);
+
+        System.out.println("\n╔═══════════════════════════════════════════════╗");
+        System.out.println("║  REVENUE ACCUMULATOR TEST COMPLETED           ║");
+        System.out.println("╚═══════════════════════════════════════════════╝");
+    }
+
+    private interface Gate {
+        void run(int gate);
+    }
+
+    // Start all gates together and wait for them to finish
+    private static void runGates(Gate work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            final int gate = g;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                    work.run(gate);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    private static Money sum(Money[] series) {
+        Money total = Money.ZERO;
+        for (Money amount : series) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println(name + ": " + (passed ? "✓ PASSED" : "✗ FAILED"));
+    }
+}
@@ -0,0 +1,218 @@
+import enums.LogLevel;
+import logging.EventLog;
+import service.TicketJournal;
+import service.TicketLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Test for TicketLog segments and compaction
+ * After a restart or a compaction the log must hold exactly the tickets
+ * whose sessions are still open, and compaction must not lose tickets
+ * that gates write while it runs
+ */
+public class TestTicketLog {
+    private static final int GATES = 8;
+    private static final int TICKETS = 120;
+    private static final int TICKETS_PER_GATE = 150;
+    private static final long SEGMENT_BYTES = 1024;     // Small, so the log rolls often
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.out.println("╔═══════════════════════════════════════════════╗");
+        System.out.println("║  TICKET LOG TEST                              ║");
+        System.out.println("║  Testing: segments, reopen, compaction        ║");
+        System.out.println("╚═══════════════════════════════════════════════╝\n");
+
+        EventLog.setLevel(LogLevel.WARN);
+
+        // TEST 1: Every other ticket is closed, then the log is reopened
+        Path dir = Files.createTempDirectory("ticket-log-");
+        Set<String> open = new LinkedHashSet<>();
+        int segments;
+        try (TicketLog log = open(dir)) {
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < TICKETS; i++) {
+                String ticketID = ticketID(i);
+                log.append(ticketID, line(i));
+                if (i % 4 == 0) {
+                    log.close(ticketID);                        // Closed on its own...
+                } else if (i % 4 == 2) {
+                    batch.add(ticketID);
+                } else {
+                    open.add(ticketID);
+                }
+            }
+            log.closeAll(batch);                                // ...and the rest together
+            segments = log.getSegmentCount();
+        }
+        Set<String> reopened;
+        String openLine;
+        String closedLine;
+        try (TicketLog log = open(dir)) {
+            reopened = openTickets(log);
+            openLine = log.findLine(ticketID(1));
+            closedLine = log.findLine(ticketID(2));
+        }
+
+        System.out.println("TEST 1: Reopen After Rolling");
+        System.out.println("─────────────────────────────────");
+        check("Log rolled into several segments", segments > 1);
+        check("Only open tickets are visited", reopened.equals(open));
+        check("Open ticket line is found", line(1).equals(openLine));
+        check("Closed ticket line is still found before compaction", line(2).equals(closedLine));
+
+        // TEST 2: Compaction folds the rolled segments into a snapshot
+        int kept;
+        int segmentsAfter;
+        long filesAfter;
+        Set<String> compacted;
+        try (TicketLog log = open(dir)) {
+            kept = log.compact();
+            segmentsAfter = log.getSegmentCount();
+            filesAfter = countLogFiles(dir);                    // Snapshot + active segment
+            compacted = openTickets(log);
+            openLine = log.findLine(ticketID(1));
+            closedLine = log.findLine(ticketID(2));
+        }
+        try (TicketLog log = open(dir)) {
+            reopened = openTickets(log);
+        }
+
+        System.out.println("\n\nTEST 2: Compaction");
+        System.out.println("─────────────────────────────────");
+        check("Snapshot keeps every open ticket", kept == open.size());
+        check("Rolled segments are deleted", segmentsAfter == 1 && filesAfter == 2);
+        check("Same open tickets after compacting", compacted.equals(open));
+        check("Open ticket line is found in the snapshot", line(1).equals(openLine));
+        check("Closed ticket is dropped", closedLine == null);
+        check("Same open tickets after reopening", reopened.equals(open));
+        deleteAll(dir);
+
+        // TEST 3: Gates write and close tickets while compaction keeps running
+        dir = Files.createTempDirectory("ticket-log-");
+        Set<String> expected = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger compactions = new AtomicInteger();
+        TicketLog racing = open(dir);
+        Thread compactor = new Thread(() -> {
+            try {
+                while (writing.get()) {
+                    racing.compact();
+                    compactions.incrementAndGet();
+                }
+            } catch (IOException e) {
+                failures.incrementAndGet();
+            }
+        });
+        compactor.start();
+        runGates(gate -> {
+            for (int i = 0; i < TICKETS_PER_GATE; i++) {
+                int n = gate * TICKETS_PER_GATE + i;
+                try {
+                    racing.append(ticketID(n), line(n));
+                    if (i % 3 == 0) {
+                        racing.close(ticketID(n));
+                    } else {
+                        expected.add(ticketID(n));
+                    }
+                } catch (IOException e) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+        writing.set(false);
+        compactor.join();
+        Set<String> live = openTickets(racing);
+        racing.close();
+        try (TicketLog log = open(dir)) {
+            reopened = openTickets(log);
+        }
+
+        System.out.println("\n\nTEST 3: Compaction During Writes (" + compactions.get() + " compactions)");
+        System.out.println("─────────────────────────────────");
+        check("No write or compaction failed", failures.get() == 0);
+        check("Every open ticket survives", live.equals(expected));
+        check("Same open tickets after reopening", reopened.equals(expected));
+        deleteAll(dir);
+
+        System.out.println("\n╔═══════════════════════════════════════════════╗");
+        System.out.println("║  TICKET LOG TEST COMPLETED                    ║");
+        System.out.println("╚═══════════════════════════════════════════════╝");
+    }
+
+    private static TicketLog open(Path dir) throws IOException {
+        return new TicketLog(dir, TicketJournal.Durability.GROUP_COMMIT, SEGMENT_BYTES);
+    }
+
+    private static String ticketID(int n) {
+        return "T-LOG" + n + "-20261018090000";
+    }
+
+    // Same layout as TicketFileService writes
+    private static String line(int n) {
+        return ticketID(n) + ",LOG" + n + ",F1-R1-S" + (n % 20 + 1) + ",REGULAR,2026-10-18T09:00,Car";
+    }
+
+    private static Set<String> openTickets(TicketLog log) throws IOException {
+        Set<String> ticketIDs = new HashSet<>();
+        log.forEachOpenTicket(line -> ticketIDs.add(line.substring(0, line.indexOf(','))));
+        return ticketIDs;
+    }
+
+    private static long countLogFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private interface Gate {
+        void run(int gate);
+    }
+
+    // Start all gates together and wait for them to finish
+    private static void runGates(Gate work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int g = 0; g < GATES; g++) {
+            final int gate = g;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                    work.run(gate);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println(name + ": " + (passed ? "✓ PASSED" : "✗ FAILED"));
+    }
+}
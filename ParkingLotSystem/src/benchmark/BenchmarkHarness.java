@@ -0,0 +1,124 @@
+package benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal timing harness for the parking benchmarks
+ * - Each benchmark is warmed up first so the JIT has compiled it, then
+ *   measured over several fixed-length iterations
+ * - Operations run in batches so reading the clock does not distort fast ops
+ * - Every result is fed into a sink the JIT cannot remove
+ */
+public class BenchmarkHarness {
+
+    /**
+     * One benchmark operation; 'i' counts calls and can pick inputs
+     * @return any value derived from the work done (kept away from the JIT)
+     */
+    public interface Operation {
+        long run(int i) throws Exception;
+    }
+
+    public static class Result {
+        final String name;
+        final String params;
+        final double nsPerOp;
+        final double minNsPerOp;
+        final double maxNsPerOp;
+
+        Result(String name, String params, double nsPerOp, double minNsPerOp, double maxNsPerOp) {
+            this.name = name;
+            this.params = params;
+            this.nsPerOp = nsPerOp;
+            this.minNsPerOp = minNsPerOp;
+            this.maxNsPerOp = maxNsPerOp;
+        }
+
+        public double getOpsPerSecond() {
+            return 1_000_000_000.0 / nsPerOp;
+        }
+    }
+
+    private static volatile long blackhole;
+
+    private final long warmupMillis;
+    private final long iterationMillis;
+    private final int iterations;
+    private final List<Result> results = new ArrayList<>();
+
+    public BenchmarkHarness(long warmupMillis, long iterationMillis, int iterations) {
+        this.warmupMillis = warmupMillis;
+        this.iterationMillis = iterationMillis;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Warm up and measure one operation, print its line and keep the result
+     */
+    public Result measure(String name, String params, Operation op) throws Exception {
+        int[] calls = {0};
+
+        // Warm-up also picks a batch size that takes about a millisecond
+        int batch = 1;
+        long warmupEnd = System.nanoTime() + warmupMillis * 1_000_000;
+        while (System.nanoTime() < warmupEnd) {
+            long start = System.nanoTime();
+            runBatch(op, batch, calls);
+            if (System.nanoTime() - start < 1_000_000 && batch < (1 << 20)) {
+                batch <<= 1;
+            }
+        }
+
+        double total = 0;
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            long ops = 0;
+            long start = System.nanoTime();
+            long end = start + iterationMillis * 1_000_000;
+            long now;
+            do {
+                runBatch(op, batch, calls);
+                ops += batch;
+                now = System.nanoTime();
+            } while (now < end);
+
+            double nsPerOp = (double) (now - start) / ops;
+            total += nsPerOp;
+            min = Math.min(min, nsPerOp);
+            max = Math.max(max, nsPerOp);
+        }
+
+        Result result = new Result(name, params, total / iterations, min, max);
+        results.add(result);
+        System.out.println(String.format(Locale.ROOT, "%-28s %-26s %12.1f ns/op  (%.1f .. %.1f)  %14.0f ops/s",
+                name, params, result.nsPerOp, result.minNsPerOp, result.maxNsPerOp, result.getOpsPerSecond()));
+        return result;
+    }
+
+    private static void runBatch(Operation op, int batch, int[] calls) throws Exception {
+        long sink = 0;
+        for (int n = 0; n < batch; n++) {
+            sink += op.run(calls[0]++);
+        }
+        blackhole += sink;
+    }
+
+    /**
+     * Append every result as "benchmark,params,nsPerOp,minNsPerOp,maxNsPerOp,opsPerSecond"
+     * so runs can be compared over time
+     */
+    public void writeCsv(String fileName) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(fileName, true))) {
+            for (Result r : results) {
+                out.println(String.format(Locale.ROOT, "%s,%s,%.2f,%.2f,%.2f,%.0f",
+                        r.name, r.params, r.nsPerOp, r.minNsPerOp, r.maxNsPerOp, r.getOpsPerSecond()));
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package benchmark;
+
+import entity.*;
+import enums.LogLevel;
+import enums.SpotCategory;
+import enums.SpotStatus;
+import logging.EventLog;
+import service.BillingService;
+import service.SpotAllocator;
+import service.TicketFileService;
+import service.TicketJournal;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks for the entry/exit hot paths, run over several lot sizes
+ *
+ * Usage: java benchmark.ParkingBenchmarks [sizes=30,1000,10000,100000] [filter=text]
+ *                                         [warmup=ms] [time=ms] [iterations=n] [csv=file]
+ * - sizes:  lot sizes to run (see SHAPES)
+ * - filter: only run benchmarks whose name contains this text
+ * - csv:    also append the results to this file
+ *
+ * Ticket benchmarks write to ./tickets, so run this from a scratch directory.
+ */
+public class ParkingBenchmarks {
+
+    // Lot size -> floors, rows per floor, spots per row
+    private static final int[][] SHAPES = {
+            {30, 3, 2, 5},
+            {1_000, 4, 10, 25},
+            {10_000, 4, 50, 50},
+            {100_000, 10, 100, 100},
+    };
+
+    private static final double FILL_RATIO = 0.9;   // Lots are 90% full while measured
+    private static final int TICKET_COUNT = 10_000;
+
+    private static String filter = "";
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = {30, 1_000, 10_000, 100_000};
+        long warmupMillis = 1000;
+        long iterationMillis = 1000;
+        int iterations = 5;
+        String csv = null;
+
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            String value = pair.length > 1 ? pair[1] : "";
+            switch (pair[0]) {
+                case "sizes":      sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray(); break;
+                case "filter":     filter = value; break;
+                case "warmup":     warmupMillis = Long.parseLong(value); break;
+                case "time":       iterationMillis = Long.parseLong(value); break;
+                case "iterations": iterations = Integer.parseInt(value); break;
+                case "csv":        csv = value; break;
+                default:           System.out.println("Unknown option: " + arg); return;
+            }
+        }
+
+        // Measure the work, not the console
+        EventLog.setLevel(LogLevel.WARN);
+
+        BenchmarkHarness harness = new BenchmarkHarness(warmupMillis, iterationMillis, iterations);
+        System.out.println(String.format("%-28s %-26s %18s  %32s", "Benchmark", "Params", "Time", "Throughput"));
+        System.out.println("─────────────────────────────────────────────────────────────────────────────────────");
+
+        for (int size : sizes) {
+            int[] shape = shapeFor(size);
+            if (shape == null) {
+                System.out.println("No lot shape for size " + size + " (use one of 30, 1000, 10000, 100000)");
+                continue;
+            }
+            runLotBenchmarks(harness, shape);
+        }
+        runSizeIndependentBenchmarks(harness);
+
+        TicketFileService.closeJournal();
+        if (csv != null) {
+            harness.writeCsv(csv);
+        }
+    }
+
+    private static int[] shapeFor(int size) {
+        for (int[] shape : SHAPES) {
+            if (shape[0] == size) return shape;
+        }
+        return null;
+    }
+
+    private static boolean selected(String name) {
+        return name.contains(filter);
+    }
+
+    // ===== Benchmarks that depend on the lot size =====
+
+    private static void runLotBenchmarks(BenchmarkHarness harness, int[] shape) throws Exception {
+        String params = "spots=" + shape[0];
+        ParkingLot lot = newFilledLot(shape);
+        Random random = new Random(42);
+
+        // Inputs are prepared up front so only the call itself is timed
+        String[] spotIDs = new String[1024];
+        for (int i = 0; i < spotIDs.length; i++) {
+            spotIDs[i] = lot.getSpotByHandle(random.nextInt(lot.getTotalSpots())).getSpotID();
+        }
+
+        if (selected("allocateSpot+releaseSpot")) {
+            TicketFileService.setDurability(TicketJournal.Durability.ASYNC);
+            SpotAllocator allocator = new SpotAllocator(lot);
+            Vehicle[] vehicles = new Vehicle[1024];
+            for (int i = 0; i < vehicles.length; i++) {
+                vehicles[i] = new Car("BEN" + i);
+            }
+            harness.measure("allocateSpot+releaseSpot", params, i -> {
+                Ticket ticket = allocator.allocateSpot(vehicles[i & 1023]);
+                if (ticket == null) return 0;
+                allocator.releaseSpot(ticket.getSpotID());
+                return ticket.getSpotID().length();
+            });
+        }
+
+        if (selected("getSpotByID")) {
+            harness.measure("getSpotByID", params, i -> lot.getSpotByID(spotIDs[i & 1023]).getHandle());
+        }
+
+        if (selected("getOccupancyRate")) {
+            harness.measure("getOccupancyRate", params, i -> (long) lot.getOccupancyRate());
+        }
+
+        // Same work on the struct-of-arrays spot store
+        CompactParkingLot compact = newFilledCompactLot(shape);
+
+        if (selected("compact claim+release")) {
+            String[] plates = new String[1024];
+            for (int i = 0; i < plates.length; i++) {
+                plates[i] = "BEN" + i;
+            }
+            harness.measure("compact claim+release", params, i -> {
+                int handle = compact.claimFirstAvailable(SpotCategory.REGULAR, plates[i & 1023]);
+                if (handle < 0) return 0;
+                compact.tryRelease(handle);
+                return handle;
+            });
+        }
+
+        if (selected("occupiedScan")) {
+            harness.measure("occupiedScan", params, i -> {
+                long regular = 0;
+                for (Floor floor : lot.getFloors()) {
+                    for (ParkingSpot spot : floor.getSpots()) {
+                        if (spot.getStatus() == SpotStatus.OCCUPIED && spot.getCategory() == SpotCategory.REGULAR) {
+                            regular++;
+                        }
+                    }
+                }
+                return regular;
+            });
+        }
+
+        if (selected("compact occupiedScan")) {
+            harness.measure("compact occupiedScan", params, i -> compact.getOccupiedCount(SpotCategory.REGULAR));
+        }
+    }
+
+    // Build a lot of the given shape and occupy a random 90% of it
+    private static ParkingLot newFilledLot(int[] shape) {
+        ParkingLot lot = new ParkingLot("BENCH", shape[1], shape[2], shape[3]);
+        Random random = new Random(7);
+        int target = (int) (lot.getTotalSpots() * FILL_RATIO);
+        while (lot.getTotalOccupied() < target) {
+            ParkingSpot spot = lot.getSpotByHandle(random.nextInt(lot.getTotalSpots()));
+            if (spot.getStatus() == SpotStatus.AVAILABLE) {
+                spot.tryOccupy("FILL" + spot.getHandle());
+            }
+        }
+        return lot;
+    }
+
+    // Same shape and fill as newFilledLot, as a compact spot store
+    private static CompactParkingLot newFilledCompactLot(int[] shape) {
+        CompactParkingLot lot = new CompactParkingLot("BENCH", shape[1], shape[2], shape[3]);
+        Random random = new Random(7);
+        int target = (int) (lot.getTotalSpots() * FILL_RATIO);
+        int occupied = 0;
+        while (occupied < target) {
+            int handle = random.nextInt(lot.getTotalSpots());
+            if (lot.tryOccupy(handle, "FILL" + handle)) {
+                occupied++;
+            }
+        }
+        return lot;
+    }
+
+    // ===== Benchmarks that do not depend on the lot size =====
+
+    private static void runSizeIndependentBenchmarks(BenchmarkHarness harness) throws Exception {
+        ParkingLot lot = new ParkingLot("BENCH", 1, 2, 5);
+        ParkingSpot spot = lot.getSpotByID("F1-R1-S1");
+        LocalDateTime exitTime = LocalDateTime.now();
+
+        if (selected("buildBill")) {
+            BillingService billing = new BillingService();
+            Vehicle vehicle = new Car("BILL1");
+            ParkingSession session = new ParkingSession("S-BILL1", "BILL1", spot.getSpotID(), exitTime.minusMinutes(185));
+            harness.measure("buildBill", "-", i -> billing.buildBill(session, spot, vehicle, exitTime, Money.ZERO).getTotalDue().getSen());
+        }
+
+        if (selected("Receipt.format")) {
+            Receipt receipt = new Receipt("REC1", spot.getSpotID(), exitTime.minusMinutes(185), exitTime,
+                    4, spot.getHourlyRate(), spot.getHourlyRate().times(4), Money.ofRinggit(5), Money.ofRinggit(20), "CASH",
+                    Money.ofRinggit(15).minus(spot.getHourlyRate().times(4)));
+            harness.measure("Receipt.format", "-", i -> receipt.format().length());
+        }
+
+        for (TicketJournal.Durability durability : TicketJournal.Durability.values()) {
+            if (!selected("saveTicket")) break;
+            TicketFileService.setDurability(durability);
+            Ticket ticket = new Ticket("SAVE1", spot.getSpotID(), spot.getCategory());
+            harness.measure("saveTicket", "durability=" + durability, i -> {
+                TicketFileService.saveTicket(ticket);
+                return 1;
+            });
+        }
+
+        if (selected("findTicketByID")) {
+            TicketFileService.setDurability(TicketJournal.Durability.ASYNC);
+            List<String> ticketIDs = new ArrayList<>();
+            for (int i = 0; i < TICKET_COUNT; i++) {
+                Ticket ticket = new Ticket("FIND" + i + "-" + System.nanoTime(), "FIND" + i,
+                        spot.getSpotID(), spot.getCategory(), exitTime);
+                TicketFileService.saveTicket(ticket);
+                ticketIDs.add(ticket.getTicketID());
+            }
+            TicketFileService.flush();
+            String[] ids = ticketIDs.toArray(new String[0]);
+            harness.measure("findTicketByID", "tickets=" + TICKET_COUNT,
+                    i -> TicketFileService.findTicketByID(ids[i % ids.length]).getPlateNumber().length());
+        }
+    }
+}
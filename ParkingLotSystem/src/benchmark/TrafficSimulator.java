@@ -0,0 +1,397 @@
+package benchmark;
+
+import control.ExitController;
+import control.InMemoryParkingSessionRepository;
+import control.InMemoryVehicleRepository;
+import control.ParkingSessionRepository;
+import control.ParkingSpotLookup;
+import control.SessionRecorder;
+import control.VehicleRepository;
+import entity.*;
+import enums.LogLevel;
+import logging.EventLog;
+import service.BillingService;
+import service.FixedFineService;
+import service.PaymentService;
+import service.SpotAllocator;
+import service.TicketFileService;
+import service.TicketJournal;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays generated gate traffic against the entry and exit paths
+ * - Arrivals follow a Poisson process; each vehicle gets a type from the
+ *   vehicle mix and a dwell time from the dwell distribution
+ * - The whole schedule is generated up front from the seed, so the same seed
+ *   always produces the same traffic (thread interleaving still varies)
+ * - Each vehicle's entry and exit go through the same gate, so a gate never
+ *   tries to exit a vehicle it has not yet let in
+ * - Unpaced runs keep the gates within one simulated minute of each other, so
+ *   occupancy (and so the rejection rate) follows the schedule
+ * - Reports throughput, p50/p99/p999 latency for entry and exit, and how many
+ *   arrivals were turned away because no suitable spot was free
+ *
+ * Usage: java benchmark.TrafficSimulator [seed=1] [gates=4] [lot=4x10x25]
+ *            [rate=2.0] [hours=8] [dwell=lognormal:90:0.8] [mix=15,60,20,5]
+ *            [speed=0] [durability=GROUP_COMMIT]
+ * - rate:  arrivals per simulated second
+ * - dwell: exp:MEAN_MIN | lognormal:MEDIAN_MIN:SIGMA | uniform:MIN_MIN:MAX_MIN | fixed:MIN
+ * - mix:   weights for Motorcycle, Car, SUV, HandicappedVehicle
+ * - speed: simulated seconds per real second (0 = as fast as possible)
+ *
+ * Every simulated entry saves a real ticket to ./tickets (see TicketFileService),
+ * so run this from a scratch directory, never from one holding a live lot's tickets.
+ */
+public class TrafficSimulator {
+
+    private static final double SYNC_WINDOW_SECONDS = 60;    // Unpaced gates meet once per simulated minute
+    private static final Money EXIT_PAYMENT = Money.ofRinggit(1000);  // Always enough to pay in full (change is given)
+
+    // ===== Configuration =====
+
+    /**
+     * How long a vehicle stays, in simulated seconds
+     */
+    public interface DwellDistribution {
+        double sampleSeconds(Random random);
+
+        static DwellDistribution exponential(double meanMinutes) {
+            return random -> -Math.log(1 - random.nextDouble()) * meanMinutes * 60;
+        }
+
+        static DwellDistribution logNormal(double medianMinutes, double sigma) {
+            return random -> Math.exp(Math.log(medianMinutes * 60) + sigma * random.nextGaussian());
+        }
+
+        static DwellDistribution uniform(double minMinutes, double maxMinutes) {
+            return random -> (minMinutes + (maxMinutes - minMinutes) * random.nextDouble()) * 60;
+        }
+
+        static DwellDistribution fixed(double minutes) {
+            return random -> minutes * 60;
+        }
+
+        // "exp:120", "lognormal:90:0.8", "uniform:30:240", "fixed:60"
+        static DwellDistribution parse(String spec) {
+            String[] parts = spec.split(":");
+            switch (parts[0]) {
+                case "exp":       return exponential(Double.parseDouble(parts[1]));
+                case "lognormal": return logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "uniform":   return uniform(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "fixed":     return fixed(Double.parseDouble(parts[1]));
+                default: throw new IllegalArgumentException("Unknown dwell distribution: " + spec);
+            }
+        }
+    }
+
+    /**
+     * Exit path for one vehicle; the command line uses ExitController.exitLot
+     */
+    public interface ExitGate {
+        void exit(Ticket ticket, Vehicle vehicle) throws Exception;
+    }
+
+    public static class Config {
+        long seed = 1;
+        int gates = 4;
+        double arrivalsPerSecond = 2.0;
+        double simulatedHours = 8;
+        DwellDistribution dwell = DwellDistribution.logNormal(90, 0.8);
+        double[] vehicleMix = {15, 60, 20, 5};     // Motorcycle, Car, SUV, HandicappedVehicle
+        double speed = 0;
+
+        public Config seed(long seed) { this.seed = seed; return this; }
+        public Config gates(int gates) { this.gates = gates; return this; }
+        public Config arrivalsPerSecond(double rate) { this.arrivalsPerSecond = rate; return this; }
+        public Config simulatedHours(double hours) { this.simulatedHours = hours; return this; }
+        public Config dwell(DwellDistribution dwell) { this.dwell = dwell; return this; }
+        public Config vehicleMix(double... weights) { this.vehicleMix = weights; return this; }
+        public Config speed(double speed) { this.speed = speed; return this; }
+    }
+
+    // ===== Schedule =====
+
+    // One entry or exit, at a simulated time
+    private static class Event {
+        final double time;          // Simulated seconds from the start
+        final int vehicle;          // Index into vehicles
+        final boolean arrival;
+
+        Event(double time, int vehicle, boolean arrival) {
+            this.time = time;
+            this.vehicle = vehicle;
+            this.arrival = arrival;
+        }
+    }
+
+    private final Config config;
+    private final SpotAllocator allocator;
+    private final ExitGate exitGate;
+
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private final List<List<Event>> eventsByGate = new ArrayList<>();
+
+    public TrafficSimulator(Config config, SpotAllocator allocator, ExitGate exitGate) {
+        this.config = config;
+        this.allocator = allocator;
+        this.exitGate = exitGate;
+        generateSchedule();
+    }
+
+    private void generateSchedule() {
+        Random random = new Random(config.seed);
+        for (int g = 0; g < config.gates; g++) {
+            eventsByGate.add(new ArrayList<>());
+        }
+
+        double end = config.simulatedHours * 3600;
+        double time = 0;
+        List<Event> all = new ArrayList<>();
+        while (true) {
+            time += -Math.log(1 - random.nextDouble()) / config.arrivalsPerSecond;
+            if (time >= end) break;
+
+            int index = vehicles.size();
+            vehicles.add(newVehicle("SIM" + index, random));
+            all.add(new Event(time, index, true));
+            all.add(new Event(time + config.dwell.sampleSeconds(random), index, false));
+        }
+
+        // Stable sort keeps an arrival ahead of a zero-length dwell's exit
+        all.sort((a, b) -> Double.compare(a.time, b.time));
+        for (Event event : all) {
+            eventsByGate.get(event.vehicle % config.gates).add(event);
+        }
+    }
+
+    private Vehicle newVehicle(String plate, Random random) {
+        double total = 0;
+        for (double weight : config.vehicleMix) total += weight;
+
+        double pick = random.nextDouble() * total;
+        if ((pick -= config.vehicleMix[0]) < 0) return new Motorcycle(plate);
+        if ((pick -= config.vehicleMix[1]) < 0) return new Car(plate);
+        if ((pick -= config.vehicleMix[2]) < 0) return new SUV(plate);
+        return new HandicappedVehicle(plate);
+    }
+
+    // ===== Run =====
+
+    public static class Report {
+        int arrivals;
+        int rejected;
+        int exits;
+        int errors;
+        long wallNanos;
+        long[] entryLatencies;
+        long[] exitLatencies;
+
+        public double getRejectionRate() {
+            return arrivals == 0 ? 0 : (double) rejected / arrivals;
+        }
+
+        public double getThroughput() {
+            return (arrivals + exits) / (wallNanos / 1e9);
+        }
+
+        public void print() {
+            System.out.println("\n=== Traffic Simulation Report ===");
+            System.out.println("Arrivals: " + arrivals + " | Rejected: " + rejected
+                    + String.format(Locale.ROOT, " (%.2f%%)", getRejectionRate() * 100)
+                    + " | Exits: " + exits + " | Errors: " + errors);
+            System.out.println(String.format(Locale.ROOT, "Wall time: %.2f s | Throughput: %.0f ops/s",
+                    wallNanos / 1e9, getThroughput()));
+            printLatency("Entry", entryLatencies);
+            printLatency("Exit ", exitLatencies);
+        }
+
+        private static void printLatency(String label, long[] sorted) {
+            if (sorted.length == 0) {
+                System.out.println(label + " latency: no samples");
+                return;
+            }
+            System.out.println(String.format(Locale.ROOT,
+                    "%s latency (us): p50 %.1f | p99 %.1f | p999 %.1f | max %.1f",
+                    label, percentile(sorted, 0.50) / 1e3, percentile(sorted, 0.99) / 1e3,
+                    percentile(sorted, 0.999) / 1e3, sorted[sorted.length - 1] / 1e3));
+        }
+
+        // Nearest-rank percentile of a sorted array
+        static long percentile(long[] sorted, double fraction) {
+            int rank = (int) Math.ceil(fraction * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    /**
+     * Run every gate on its own thread and wait for all of them
+     * When paced (speed > 0), latency is measured from the scheduled time, so a
+     * gate that falls behind shows up as queueing delay instead of being hidden
+     */
+    public Report run() throws InterruptedException {
+        int gates = config.gates;
+        Ticket[] tickets = new Ticket[vehicles.size()];
+        long[][] entryLatencies = new long[gates][];
+        long[][] exitLatencies = new long[gates][];
+        int[] entryCounts = new int[gates];
+        int[] exitCounts = new int[gates];
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        CountDownLatch start = new CountDownLatch(1);
+        Phaser windows = new Phaser(gates);
+        List<Thread> threads = new ArrayList<>();
+        long[] startNanos = new long[1];
+
+        for (int g = 0; g < gates; g++) {
+            final int gate = g;
+            List<Event> events = eventsByGate.get(gate);
+            entryLatencies[gate] = new long[events.size()];
+            exitLatencies[gate] = new long[events.size()];
+
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                int window = 0;
+                for (Event event : events) {
+                    if (config.speed <= 0) {
+                        // Wait for the other gates to finish earlier simulated minutes
+                        for (int due = (int) (event.time / SYNC_WINDOW_SECONDS); window < due; window++) {
+                            windows.arriveAndAwaitAdvance();
+                        }
+                    }
+                    long scheduled = waitUntil(startNanos[0], event.time);
+                    Vehicle vehicle = vehicles.get(event.vehicle);
+                    try {
+                        if (event.arrival) {
+                            Ticket ticket = allocator.allocateSpot(vehicle);
+                            if (ticket == null) rejected.incrementAndGet();
+                            tickets[event.vehicle] = ticket;
+                            entryLatencies[gate][entryCounts[gate]++] = System.nanoTime() - scheduled;
+                        } else if (tickets[event.vehicle] != null) {
+                            exitGate.exit(tickets[event.vehicle], vehicle);
+                            exitLatencies[gate][exitCounts[gate]++] = System.nanoTime() - scheduled;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                windows.arriveAndDeregister();
+            }, "sim-gate-" + gate);
+            threads.add(thread);
+            thread.start();
+        }
+
+        startNanos[0] = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Report report = new Report();
+        report.wallNanos = System.nanoTime() - startNanos[0];
+        report.arrivals = vehicles.size();
+        report.rejected = rejected.get();
+        report.errors = errors.get();
+        report.entryLatencies = merge(entryLatencies, entryCounts);
+        report.exitLatencies = merge(exitLatencies, exitCounts);
+        report.exits = report.exitLatencies.length;
+        return report;
+    }
+
+    // Sleep until an event is due; returns the time latency is measured from
+    private long waitUntil(long startNanos, double simulatedSeconds) {
+        if (config.speed <= 0) {
+            return System.nanoTime();   // As fast as possible: time the call itself
+        }
+        long due = startNanos + (long) (simulatedSeconds / config.speed * 1e9);
+        for (long now = System.nanoTime(); now < due; now = System.nanoTime()) {
+            LockSupport.parkNanos(due - now);
+        }
+        return due;
+    }
+
+    private static long[] merge(long[][] perGate, int[] counts) {
+        int total = 0;
+        for (int count : counts) total += count;
+
+        long[] merged = new long[total];
+        int pos = 0;
+        for (int g = 0; g < perGate.length; g++) {
+            System.arraycopy(perGate[g], 0, merged, pos, counts[g]);
+            pos += counts[g];
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    public int getVehicleCount() {
+        return vehicles.size();
+    }
+
+    // ===== Command line =====
+
+    public static void main(String[] args) throws Exception {
+        Config config = new Config();
+        int[] shape = {4, 10, 25};
+        TicketJournal.Durability durability = TicketJournal.Durability.GROUP_COMMIT;
+
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            String value = pair.length > 1 ? pair[1] : "";
+            switch (pair[0]) {
+                case "seed":       config.seed(Long.parseLong(value)); break;
+                case "gates":      config.gates(Integer.parseInt(value)); break;
+                case "rate":       config.arrivalsPerSecond(Double.parseDouble(value)); break;
+                case "hours":      config.simulatedHours(Double.parseDouble(value)); break;
+                case "dwell":      config.dwell(DwellDistribution.parse(value)); break;
+                case "mix":        config.vehicleMix(Arrays.stream(value.split(",")).mapToDouble(Double::parseDouble).toArray()); break;
+                case "speed":      config.speed(Double.parseDouble(value)); break;
+                case "lot":        shape = Arrays.stream(value.split("x")).mapToInt(Integer::parseInt).toArray(); break;
+                case "durability": durability = TicketJournal.Durability.valueOf(value); break;
+                default:           System.out.println("Unknown option: " + arg); return;
+            }
+        }
+
+        EventLog.setLevel(LogLevel.WARN);
+        TicketFileService.setDurability(durability);
+
+        ParkingLot lot = new ParkingLot("SIM", shape[0], shape[1], shape[2]);
+        SpotAllocator allocator = new SpotAllocator(lot);
+
+        // Entry records each session; exit goes through the real exit use-case
+        ParkingSessionRepository sessionRepo = new InMemoryParkingSessionRepository();
+        VehicleRepository vehicleRepo = new InMemoryVehicleRepository();
+        allocator.addAllocationListener(new SessionRecorder(sessionRepo, vehicleRepo));
+
+        ExitController exitController = new ExitController(new BillingService(), new FixedFineService(),
+                new PaymentService(), sessionRepo, vehicleRepo, new ParkingSpotLookup(lot, allocator.getMode()));
+        ExitGate exitGate = (ticket, vehicle) -> exitController.exitLot(ticket.getPlateNumber(), "CASH", EXIT_PAYMENT);
+
+        TrafficSimulator simulator = new TrafficSimulator(config, allocator, exitGate);
+        System.out.println("Simulating " + simulator.getVehicleCount() + " vehicles through "
+                + config.gates + " gates (seed " + config.seed + ")");
+        System.out.println("Tickets are written to " + Paths.get("tickets").toAbsolutePath()
+                + " - run from a scratch directory");
+
+        Report report = simulator.run();
+        report.print();
+        System.out.println("Occupied at end: " + lot.getTotalOccupied() + " / " + lot.getTotalSpots());
+
+        TicketFileService.closeJournal();
+    }
+}
@@ -1,62 +1,86 @@
-package control;
-
-import entity.ParkingSession;
-import observer.OccupancyObserver;
-import observer.RevenueObserver;
-import service.FineService;
-import service.FineScheme;
-
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-
-public class AdminController {
-
-    private final OccupancyObserver occupancyObserver;
-    private final RevenueObserver revenueObserver;
-    private final FineService fineService;
-
-    public AdminController(OccupancyObserver occupancyObserver,
-                           RevenueObserver revenueObserver,
-                           FineService fineService) {
-        this.occupancyObserver = occupancyObserver;
-        this.revenueObserver = revenueObserver;
-        this.fineService = fineService;
-    }
-
-    // Parking statistics
-    public int getTotalSpots() {
-        return occupancyObserver.getTotalSpots();
-    }
-
-    public int getOccupiedSpots() {
-        return occupancyObserver.getOccupiedSpots();
-    }
-
-    public int getAvailableSpots() {
-        return occupancyObserver.getAvailableSpots();
-    }
-
-    public double getOccupancyRate() {
-        return occupancyObserver.getOccupancyRate();
-    }
-
-    // Revenue tracking
-    public double getTotalRevenue() {
-        return revenueObserver.getTotalRevenue();
-    }
-
-    // Reporting data
-    public Map<String, Double> getOutstandingFines() {
-        Map<String, Double> fines = fineService.getOutstandingFines();
-        return fines != null ? fines : Collections.emptyMap();
-    }
-
-    public List<ParkingSession> getCurrentVehicles() {
-        return fineService.getActiveSessions();
-    }
-
-    public void setFineScheme(FineScheme scheme) {
-        fineService.setFineScheme(scheme);
-    }
-}
+package control;
+
+import entity.Money;
+import entity.ParkingLot;
+import entity.ParkingSession;
+import enums.SpotCategory;
+import observer.EventBus;
+import observer.OccupancyObserver;
+import observer.RevenueObserver;
+import service.FineService;
+import service.FineScheme;
+import service.RevenueAccumulator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class AdminController {
+
+    private final OccupancyObserver occupancyObserver;
+    private final RevenueObserver revenueObserver;
+    private final FineService fineService;
+
+    public AdminController(OccupancyObserver occupancyObserver,
+                           RevenueObserver revenueObserver,
+                           FineService fineService) {
+        this.occupancyObserver = occupancyObserver;
+        this.revenueObserver = revenueObserver;
+        this.fineService = fineService;
+    }
+
+    // Dashboard kept current by the event bus (publishers are wired with EventBus.publishFrom)
+    public AdminController(ParkingLot lot, RevenueAccumulator revenue, EventBus bus, FineService fineService) {
+        this(new OccupancyObserver(lot, bus), new RevenueObserver(revenue, bus), fineService);
+    }
+
+    // Called (on the event bus thread) whenever occupancy or revenue changes
+    public void addChangeListener(Runnable listener) {
+        occupancyObserver.addChangeListener(listener);
+        revenueObserver.addChangeListener(listener);
+    }
+
+    // Parking statistics
+    public int getTotalSpots() {
+        return occupancyObserver.getTotalSpots();
+    }
+
+    public int getOccupiedSpots() {
+        return occupancyObserver.getOccupiedSpots();
+    }
+
+    public int getAvailableSpots() {
+        return occupancyObserver.getAvailableSpots();
+    }
+
+    public double getOccupancyRate() {
+        return occupancyObserver.getOccupancyRate();
+    }
+
+    // Revenue tracking
+    public Money getTotalRevenue() {
+        return revenueObserver.getTotalRevenue();
+    }
+
+    public Map<SpotCategory, Money> getRevenueByCategory() {
+        return revenueObserver.getRevenueByCategory();
+    }
+
+    public Map<String, Money> getRevenueByMethod() {
+        return revenueObserver.getRevenueByMethod();
+    }
+
+    // Reporting data
+    public Map<String, Money> getOutstandingFines() {
+        Map<String, Money> fines = fineService.getOutstandingFines();
+        return fines != null ? fines : Collections.emptyMap();
+    }
+
+    public List<ParkingSession> getCurrentVehicles() {
+        return fineService.getActiveSessions();
+    }
+
+    public void setFineScheme(FineScheme scheme) {
+        fineService.setFineScheme(scheme);
+    }
+}
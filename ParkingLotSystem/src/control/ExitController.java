@@ -4,10 +4,17 @@ import entity.*;
 import service.BillingService;
 import service.FineService;
 import service.PaymentService;
+import service.RevenueAccumulator;
+import service.TicketFileService;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /*
 ExitController Controller class:
@@ -24,13 +31,34 @@ public class ExitController {
     private final FineService fineService;
     private final PaymentService paymentService;
     private final ParkingSpotLookup spotLookup;
+    private final RevenueAccumulator revenue;
+    private final List<PaymentListener> paymentListeners = new CopyOnWriteArrayList<>();
 
-    /*
-    // ===== Temporary demo storage =====
-    // For demo ONLY, can replace this with ParkingSessionRepository + VehicleRepository later.
-    private final Map<String, ParkingSession> activeSessionsByPlate = new HashMap<>();
-    private final Map<String, Vehicle> vehiclesByPlate = new HashMap<>();
-    */
+    // One line of a bulk settlement: end this plate's session with this payment
+    public static final class ExitRequest {
+        private final String plateNo;
+        private final String methodName;
+        private final Money amountPaid;
+
+        public ExitRequest(String plateNo, String methodName, Money amountPaid) {
+            this.plateNo = plateNo;
+            this.methodName = methodName;
+            this.amountPaid = amountPaid;
+        }
+
+        public String getPlateNo() { return plateNo; }
+        public String getMethodName() { return methodName; }
+        public Money getAmountPaid() { return amountPaid; }
+    }
+
+    // Told about every payment taken at exit (e.g. to publish events for dashboards)
+    public interface PaymentListener {
+        void paymentTaken(String plateNo, ParkingSpot spot, Payment payment, Money collected);
+    }
+
+    // Active sessions and vehicles (filled on entry by SessionRecorder)
+    private final ParkingSessionRepository sessionRepo;
+    private final VehicleRepository vehicleRepo;
 
     public ExitController(BillingService billingService,
                           FineService fineService,
@@ -38,83 +66,115 @@ public class ExitController {
                           ParkingSessionRepository sessionRepo,
                           VehicleRepository vehicleRepo,
                           ParkingSpotLookup spotLookup) {
+        this(billingService, fineService, paymentService, sessionRepo, vehicleRepo, spotLookup,
+                new RevenueAccumulator());
+    }
+
+    public ExitController(BillingService billingService,
+                          FineService fineService,
+                          PaymentService paymentService,
+                          ParkingSessionRepository sessionRepo,
+                          VehicleRepository vehicleRepo,
+                          ParkingSpotLookup spotLookup,
+                          RevenueAccumulator revenue) {
         this.billingService = billingService;
         this.fineService = fineService;
         this.paymentService = paymentService;
         this.spotLookup = spotLookup;
         this.sessionRepo = sessionRepo;
         this.vehicleRepo = vehicleRepo;
+        this.revenue = revenue;
     }
 
-    
-    private final ParkingSessionRepository sessionRepo;
-    private final VehicleRepository vehicleRepo;
-    
-    
-    /* ===== Demo helper =====
+    // ===== Demo helper =====
     // Seeds a fake session so ExitPanel can run without needing EntryPanel integration yet.
     public void seedDemoSession(String plateNo, boolean handicappedCardHolder, String spotId) {
-        vehiclesByPlate.put(plateNo, new Vehicle(plateNo, handicappedCardHolder));
-        activeSessionsByPlate.put(
-                plateNo,
-                new ParkingSession("S-" + plateNo, plateNo, spotId, LocalDateTime.now().minusHours(2))
-        );
+        vehicleRepo.save(handicappedCardHolder ? new HandicappedVehicle(plateNo) : new Car(plateNo));
+        sessionRepo.save(new ParkingSession("S-" + plateNo, plateNo, spotId, LocalDateTime.now().minusHours(2)));
+
+        ParkingSpot spot = spotLookup.findSpotById(spotId);
+        if (spot != null) spot.tryOccupy(plateNo);
     }
-    */
 
     /*
     Main EXIT use-case:
     1) Find active session & related entities
-    2) Evaluate fines (including unpaid from ledger)
+    2) Preview fines (including unpaid from ledger); nothing is recorded before payment
     3) Build a Bill (duration rounding + rates)
     4) Take payment (Cash/Card/etc.)
     5) If fully paid: release spot + close session
        Else: record outstanding amount into FineLedger via FineService hook
     6) Return Receipt for UI display/printing
     */
-    public Receipt exitLot(String plateNo, String methodName, double amountPaid) {
+    public Receipt exitLot(String plateNo, String methodName, Money amountPaid) {
 
         // --- 1) Retrieve current session ---
-        //ParkingSession session = activeSessionsByPlate.get(plateNo);
-        ParkingSession session = sessionRepo.findActiveByPlate(plateNo);
+        // It is closed straight away, so of two exits for the same plate only one gets it
+        // (and only one is charged); it is put back if this exit does not go through
+        ParkingSession session = sessionRepo.closeSession(plateNo);
         if (session == null) {
             throw new IllegalArgumentException("No active session found for plate: " + plateNo);
         }
 
-        //Vehicle vehicle = vehiclesByPlate.get(plateNo);
-        Vehicle vehicle = vehicleRepo.findByPlate(plateNo);
-        if (vehicle == null) {
-            throw new IllegalStateException("Vehicle not found for plate: " + plateNo);
-        }
+        Vehicle vehicle;
+        ParkingSpot spot;
+        LocalDateTime exitTime;
+        Bill bill;
+        Payment payment;
+        try {
+            vehicle = vehicleRepo.findByPlate(plateNo);
+            if (vehicle == null) {
+                throw new IllegalStateException("Vehicle not found for plate: " + plateNo);
+            }
 
-        ParkingSpot spot = spotLookup.findSpotById(session.getSpotID());
-        if (spot == null) {
-            throw new IllegalStateException("Spot not found: " + session.getSpotID());
-        }
+            spot = spotLookup.findSpotById(session.getSpotID());
+            if (spot == null) {
+                throw new IllegalStateException("Spot not found: " + session.getSpotID());
+            }
 
-        LocalDateTime exitTime = LocalDateTime.now();
+            exitTime = LocalDateTime.now();
 
-        // --- 2) Fine calculation (Member 4 can implement real policy later) ---
-        // This should already include unpaid fines from previous visits if FineService is ledger-backed.
-        double fines = fineService.evaluateAndRecord(session, spot, vehicle);
+            // --- 2) Fine calculation (Member 4 can implement real policy later) ---
+            // This should already include unpaid fines from previous visits if FineService is ledger-backed.
+            // Only previewed: a failed payment must not leave a new fine in the ledger
+            Money fines = fineService.previewFines(session, spot, vehicle);
 
-        // --- 3) Build bill (duration rounding + rate + handicapped rules) ---
-        Bill bill = billingService.buildBill(session, spot, vehicle, exitTime, fines);
+            // --- 3) Build bill (duration rounding + rate + handicapped rules) ---
+            bill = billingService.buildBill(session, spot, vehicle, exitTime, fines);
 
-        // --- 4) Payment (OCP: method is resolved inside PaymentService) ---
-        Payment payment = paymentService.takePayment(bill, methodName, amountPaid);
+            // --- 4) Payment (OCP: method is resolved inside PaymentService) ---
+            payment = paymentService.takePayment(bill, methodName, amountPaid);
+        } catch (RuntimeException e) {
+            sessionRepo.save(session); // Nothing was charged - the vehicle is still parked
+            throw e;
+        }
 
         // balance = positive change OR negative outstanding
-        double balance = payment.getAmount() - bill.getTotalDue();
+        Money balance = payment.getAmount().minus(bill.getTotalDue());
+
+        // Revenue is what was kept: change goes back, a shortfall goes to the ledger
+        Money collected = balance.isPositive() ? bill.getTotalDue() : payment.getAmount();
+        revenue.record(spot.getCategory(), payment.getMethodName(), collected);
+        for (PaymentListener listener : paymentListeners) {
+            listener.paymentTaken(plateNo, spot, payment, collected);
+        }
 
         // --- 5) Decide release/keep session ---
-        if (balance >= 0) {
-            // Fully paid -> free the spot & remove active session
+        if (!balance.isNegative()) {
+            // Fully paid -> the session is already closed; free the spot and close the ticket
+            vehicleRepo.remove(plateNo);
             spotLookup.releaseSpot(spot);
-            activeSessionsByPlate.remove(plateNo);
+            TicketFileService.closeTicket(session.getSessionId());
+
+            // Carried and new fines were on this bill and are now paid
+            fineService.settleOutstanding(plateNo);
         } else {
-            // Underpaid -> record outstanding into ledger (so next exit can pay it)
-            double outstanding = -balance;
+            // Underpaid -> the vehicle stays, so its session is put back;
+            // record outstanding into ledger (so next exit can pay it)
+            // The shortfall already includes the carried and new fines, so it replaces them
+            sessionRepo.save(session);
+            Money outstanding = balance.negate();
+            fineService.settleOutstanding(plateNo);
             fineService.recordOutstanding(plateNo, outstanding, "UNDERPAY_AT_EXIT");
         }
 
@@ -135,6 +195,129 @@ public class ExitController {
     }
 
 
+    /*
+    BATCH EXIT (bulk settlement of fleet / monthly-pass accounts):
+    - Same result per plate as calling exitLot for each request, but shared work is done once:
+      1) Every request is checked (plate, session, vehicle, spot, payment method) before
+         anything changes: one bad request -> nothing happens
+      2) Every session is closed, so a concurrent exit cannot charge the same plate
+      3) One exit time; fines are previewed per plate (nothing written yet)
+      4) Bills, payments and receipts in one pass
+      5) Paid spots released floor by floor, their tickets closed with one journal write
+      6) The ledger is written once for the whole batch
+    - Underpaid plates keep their session (as in exitLot).
+    - Receipts are returned in request order.
+    */
+    public List<Receipt> exitLotBatch(List<ExitRequest> requests) {
+        int count = requests.size();
+        ParkingSession[] sessions = new ParkingSession[count];
+        Vehicle[] vehicles = new Vehicle[count];
+        ParkingSpot[] spots = new ParkingSpot[count];
+
+        // --- 1) Check every request first ---
+        Set<String> plates = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            String plateNo = requests.get(i).getPlateNo();
+            if (!plates.add(plateNo)) {
+                throw new IllegalArgumentException("Plate appears twice in batch: " + plateNo);
+            }
+            if (!paymentService.supports(requests.get(i).getMethodName())) {
+                throw new IllegalArgumentException("Unknown payment method: " + requests.get(i).getMethodName());
+            }
+            sessions[i] = sessionRepo.findActiveByPlate(plateNo);
+            if (sessions[i] == null) {
+                throw new IllegalArgumentException("No active session found for plate: " + plateNo);
+            }
+            vehicles[i] = vehicleRepo.findByPlate(plateNo);
+            if (vehicles[i] == null) {
+                throw new IllegalStateException("Vehicle not found for plate: " + plateNo);
+            }
+            spots[i] = spotLookup.findSpotById(sessions[i].getSpotID());
+            if (spots[i] == null) {
+                throw new IllegalStateException("Spot not found: " + sessions[i].getSpotID());
+            }
+        }
+
+        // --- 2) Close every session before charging anyone ---
+        for (int i = 0; i < count; i++) {
+            if (sessionRepo.closeSession(requests.get(i).getPlateNo()) != sessions[i]) {
+                // Another exit got there first: give back what this batch took
+                for (int j = 0; j < i; j++) {
+                    sessionRepo.save(sessions[j]);
+                }
+                throw new IllegalStateException("Session already closed for plate: " + requests.get(i).getPlateNo());
+            }
+        }
+
+        LocalDateTime exitTime = LocalDateTime.now();
+        List<Receipt> receipts = new ArrayList<>(count);
+        List<ParkingSpot> paidSpots = new ArrayList<>(count);
+        List<String> paidTickets = new ArrayList<>(count);
+        Map<String, Money> shortfallByPlate = new LinkedHashMap<>();
+
+        int charged = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                ExitRequest request = requests.get(i);
+                String plateNo = request.getPlateNo();
+                ParkingSession session = sessions[i];
+                ParkingSpot spot = spots[i];
+
+                // --- 3) + 4) Fines (ledger + new), bill and payment ---
+                Money fines = fineService.previewFines(session, spot, vehicles[i]);
+                Bill bill = billingService.buildBill(session, spot, vehicles[i], exitTime, fines);
+                Payment payment = paymentService.takePayment(bill, request.getMethodName(), request.getAmountPaid());
+                Money balance = payment.getAmount().minus(bill.getTotalDue());
+                charged++;
+
+                Money collected = balance.isPositive() ? bill.getTotalDue() : payment.getAmount();
+                revenue.record(spot.getCategory(), payment.getMethodName(), collected);
+                for (PaymentListener listener : paymentListeners) {
+                    listener.paymentTaken(plateNo, spot, payment, collected);
+                }
+
+                if (!balance.isNegative()) {
+                    vehicleRepo.remove(plateNo);
+                    paidSpots.add(spot);
+                    paidTickets.add(session.getSessionId());
+                    shortfallByPlate.put(plateNo, Money.ZERO);
+                } else {
+                    // Underpaid -> the vehicle stays, so its session is put back
+                    // The shortfall already includes the carried fines, so it replaces them
+                    sessionRepo.save(session);
+                    shortfallByPlate.put(plateNo, balance.negate());
+                }
+
+                receipts.add(new Receipt(
+                        plateNo,
+                        spot.getSpotID(),
+                        session.getEntryTime(),
+                        exitTime,
+                        bill.getHours(),
+                        spot.getHourlyRate(),
+                        bill.getParkingFee(),
+                        bill.getFines(),
+                        payment.getAmount(),
+                        payment.getMethodName(),
+                        balance
+                ));
+            }
+        } finally {
+            // A payment method failed part way: plates not yet charged are still parked
+            for (int i = charged; i < count; i++) {
+                sessionRepo.save(sessions[i]);
+            }
+
+            // --- 5) + 6) Shared writes, for every plate that was charged ---
+            spotLookup.releaseSpots(paidSpots);
+            TicketFileService.closeTickets(paidTickets);
+            fineService.settleAll(shortfallByPlate, "UNDERPAY_AT_EXIT");
+        }
+
+        return receipts;
+    }
+
+
     /*
     BILL PREVIEW (no payment yet):
     - This supports a realistic UX: driver sees total due BEFORE paying.
@@ -164,15 +347,15 @@ public class ExitController {
 
         LocalDateTime previewTime = LocalDateTime.now();
 
-        // --- 2) Fine calculation (ledger + new fine stub) ---
-        double fines = fineService.evaluateAndRecord(session, spot, vehicle);
+        // --- 2) Fine calculation (ledger + new fine stub), nothing recorded ---
+        Money fines = fineService.previewFines(session, spot, vehicle);
 
         // --- 3) Build bill ---
         Bill bill = billingService.buildBill(session, spot, vehicle, previewTime, fines);
 
         // --- 4) Return a Receipt-like preview object (payment = 0) ---
         // We reuse Receipt for convenience; UI will label it as "BILL PREVIEW".
-        double totalDue = bill.getTotalDue();
+        Money totalDue = bill.getTotalDue();
         return new Receipt(
                 plateNo,
                 spot.getSpotID(),
@@ -182,14 +365,26 @@ public class ExitController {
                 spot.getHourlyRate(),
                 bill.getParkingFee(),
                 bill.getFines(),
-                0.0,
+                Money.ZERO,
                 "PREVIEW",
-                -totalDue
+                totalDue.negate()
         );
     }
 
+    public void addPaymentListener(PaymentListener listener) {
+        paymentListeners.add(listener);
+    }
+
+    public void removePaymentListener(PaymentListener listener) {
+        paymentListeners.remove(listener);
+    }
+
+    public RevenueAccumulator getRevenue() {
+        return revenue;
+    }
+
     // expose outstanding for UI demo/debug
-    public double getOutstandingFines(String plateNo) {
+    public Money getOutstandingFines(String plateNo) {
         return fineService.getOutstanding(plateNo);
     }
 }
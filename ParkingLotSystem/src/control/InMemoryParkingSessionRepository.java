@@ -0,0 +1,59 @@
+package control;
+
+import entity.ParkingSession;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * InMemoryParkingSessionRepository:
+ * - Active sessions in a ConcurrentHashMap keyed by plate, plus a second map keyed
+ *   by spotID, so both lookups are one hash probe and safe from several gates at once.
+ * - The spot index is only cleared if it still points at the closed session, so a
+ *   spot that has already been given to the next vehicle keeps its new entry.
+ */
+public class InMemoryParkingSessionRepository implements ParkingSessionRepository {
+
+    private final Map<String, ParkingSession> activeByPlate = new ConcurrentHashMap<>();
+    private final Map<String, ParkingSession> activeBySpotID = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(ParkingSession session) {
+        ParkingSession previous = activeByPlate.put(session.getPlateNo(), session);
+        if (previous != null && !previous.getSpotID().equals(session.getSpotID())) {
+            activeBySpotID.remove(previous.getSpotID(), previous);
+        }
+        activeBySpotID.put(session.getSpotID(), session);
+    }
+
+    @Override
+    public ParkingSession findActiveByPlate(String plateNo) {
+        return activeByPlate.get(plateNo);
+    }
+
+    @Override
+    public ParkingSession findActiveBySpotID(String spotID) {
+        return activeBySpotID.get(spotID);
+    }
+
+    @Override
+    public ParkingSession closeSession(String plateNo) {
+        ParkingSession closed = activeByPlate.remove(plateNo);
+        if (closed != null) {
+            activeBySpotID.remove(closed.getSpotID(), closed);
+        }
+        return closed;
+    }
+
+    @Override
+    public Collection<ParkingSession> findAllActive() {
+        return Collections.unmodifiableCollection(activeByPlate.values());
+    }
+
+    @Override
+    public int countActive() {
+        return activeByPlate.size();
+    }
+}
@@ -0,0 +1,30 @@
+package control;
+
+import entity.Vehicle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * InMemoryVehicleRepository:
+ * - Vehicles in a ConcurrentHashMap keyed by plate (safe from several gates at once).
+ */
+public class InMemoryVehicleRepository implements VehicleRepository {
+
+    private final Map<String, Vehicle> vehiclesByPlate = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Vehicle vehicle) {
+        vehiclesByPlate.put(vehicle.getPlateNumber(), vehicle);
+    }
+
+    @Override
+    public Vehicle findByPlate(String plateNo) {
+        return vehiclesByPlate.get(plateNo);
+    }
+
+    @Override
+    public Vehicle remove(String plateNo) {
+        return vehiclesByPlate.remove(plateNo);
+    }
+}
@@ -2,16 +2,49 @@ package observer;
 
 import entity.ParkingLot;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /*
  * Observer that tracks parking lot occupancy statistics.
  * It listens to changes in ParkingLot state.
+ * - Built with an EventBus: keeps its own count, refreshed from spot events on
+ *   the bus thread, and tells change listeners (dashboards) when it moves.
+ * - Built without one: reads the lot on every getter call.
  */
 public class OccupancyObserver {
 
-    private ParkingLot parkingLot;
+    private final ParkingLot parkingLot;
+    private final boolean pushed;
+    private volatile int occupied;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
 
     public OccupancyObserver(ParkingLot parkingLot) {
         this.parkingLot = parkingLot;
+        this.pushed = false;
+    }
+
+    public OccupancyObserver(ParkingLot parkingLot, EventBus bus) {
+        this.parkingLot = parkingLot;
+        this.pushed = true;
+        this.occupied = parkingLot.getTotalOccupied();
+        bus.subscribe(ParkingEvent.SpotStatusChanged.class, event -> refresh());
+    }
+
+    // Counters are read once per (coalesced) spot event, not once per getter
+    private void refresh() {
+        int now = parkingLot.getTotalOccupied();
+        if (now != occupied) {
+            occupied = now;
+            for (Runnable listener : changeListeners) {
+                listener.run();
+            }
+        }
+    }
+
+    // Runs on the bus thread; UI code should hand off to its own thread
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
     }
 
     public int getTotalSpots() {
@@ -19,7 +52,7 @@ public class OccupancyObserver {
     }
 
     public int getOccupiedSpots() {
-        return parkingLot.getOccupiedSpots();
+        return pushed ? occupied : parkingLot.getTotalOccupied();
     }
 
     public int getAvailableSpots() {
@@ -0,0 +1,29 @@
+package control;
+
+import entity.ParkingSession;
+
+import java.util.Collection;
+
+/*
+ * ParkingSessionRepository:
+ * - Active parking sessions, one per plate.
+ * - Looked up by plate on exit and by spotID when a spot is inspected.
+ */
+public interface ParkingSessionRepository {
+
+    void save(ParkingSession session);
+
+    ParkingSession findActiveByPlate(String plateNo);
+
+    ParkingSession findActiveBySpotID(String spotID);
+
+    /**
+     * End the plate's active session.
+     * @return the session that was closed, or null if there was none
+     */
+    ParkingSession closeSession(String plateNo);
+
+    Collection<ParkingSession> findAllActive();
+
+    int countActive();
+}
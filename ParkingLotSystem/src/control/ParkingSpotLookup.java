@@ -2,19 +2,56 @@ package control;
 
 import entity.ParkingLot;
 import entity.ParkingSpot;
+import enums.ConcurrencyMode;
+import enums.LogLevel;
+import logging.EventLog;
+
+import java.util.Collection;
 
 public class ParkingSpotLookup {
     private final ParkingLot parkingLot;
+    private final ConcurrencyMode mode;
 
     public ParkingSpotLookup(ParkingLot parkingLot) {
+        this(parkingLot, ConcurrencyMode.LOCK_FREE);
+    }
+
+    /**
+     * @param mode the SpotAllocator's mode (SpotAllocator.getMode()), so exits
+     *             release spots the same way entries claim them
+     */
+    public ParkingSpotLookup(ParkingLot parkingLot, ConcurrencyMode mode) {
         this.parkingLot = parkingLot;
+        this.mode = mode;
     }
 
     public ParkingSpot findSpotById(String spotId) {
         return parkingLot.getSpotByID(spotId);
     }
 
+    public ParkingSpot findSpotByHandle(int handle) {
+        return parkingLot.getSpotByHandle(handle);
+    }
+
+    // FLOOR_LOCKED: release under the floor's lock, as SpotAllocator and releaseSpots do
     public void releaseSpot(ParkingSpot spot) {
-        if (spot != null) spot.release();
+        if (spot == null) return;
+        if (mode != ConcurrencyMode.FLOOR_LOCKED) {
+            spot.release();
+        } else if (parkingLot.releaseSpotLocked(spot)) {
+            if (EventLog.isEnabled(LogLevel.DEBUG)) {
+                EventLog.debug("Spot " + spot.getSpotID() + " released and now available");
+            }
+        } else {
+            EventLog.warn("Spot " + spot.getSpotID() + " is already available");
+        }
+    }
+
+    // Bulk exit: release floor by floor (see ParkingLot.releaseSpots)
+    public void releaseSpots(Collection<ParkingSpot> spots) {
+        int released = parkingLot.releaseSpots(spots);
+        if (released != spots.size()) {
+            EventLog.warn((spots.size() - released) + " of " + spots.size() + " spots were already available");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package control;
+
+import entity.Car;
+import entity.HandicappedVehicle;
+import entity.Motorcycle;
+import entity.ParkingSession;
+import entity.ParkingSpot;
+import entity.SUV;
+import entity.Ticket;
+import entity.Vehicle;
+import enums.SpotCategory;
+import service.SpotAllocator;
+
+import java.util.List;
+
+/*
+ * SessionRecorder:
+ * - Connects entry to exit: every Ticket SpotAllocator issues becomes an active
+ *   ParkingSession (session ID = ticket ID) and the Vehicle is remembered,
+ *   so ExitController never has to read the ticket log.
+ * - Register with SpotAllocator.addAllocationListener.
+ * - After a restart, pass the tickets ParkingLot.restoreOccupancy put back to
+ *   restoreSessions, so recovered vehicles can exit too.
+ */
+public class SessionRecorder implements SpotAllocator.AllocationListener {
+
+    private final ParkingSessionRepository sessionRepo;
+    private final VehicleRepository vehicleRepo;
+
+    public SessionRecorder(ParkingSessionRepository sessionRepo, VehicleRepository vehicleRepo) {
+        this.sessionRepo = sessionRepo;
+        this.vehicleRepo = vehicleRepo;
+    }
+
+    @Override
+    public void ticketIssued(Ticket ticket, Vehicle vehicle, ParkingSpot spot) {
+        vehicleRepo.save(vehicle);
+        sessionRepo.save(new ParkingSession(
+                ticket.getTicketID(),
+                ticket.getPlateNumber(),
+                ticket.getSpotID(),
+                ticket.getEntryTime()
+        ));
+    }
+
+    /**
+     * Re-create the session and vehicle of every ticket recovered from the ticket log
+     * @param restored tickets whose spot was re-occupied (see TicketFileService.recoverOccupancy)
+     * @return number of sessions restored
+     */
+    public int restoreSessions(List<Ticket> restored) {
+        for (Ticket ticket : restored) {
+            ticketIssued(ticket, vehicleFor(ticket), null);
+        }
+        return restored.size();
+    }
+
+    // The vehicle type is saved with the ticket (Vehicle.getVehicleType())
+    private static Vehicle vehicleFor(Ticket ticket) {
+        String plate = ticket.getPlateNumber();
+        String type = ticket.getVehicleType();
+        if ("Handicapped".equals(type)) return new HandicappedVehicle(plate);
+        if ("Motorcycle".equals(type)) return new Motorcycle(plate);
+        if ("SUV".equals(type)) return new SUV(plate);
+        if ("Car".equals(type)) return new Car(plate);
+
+        // Tickets saved before the type was recorded: guess from the spot. Card holders
+        // may park anywhere, so one parked outside a HANDICAPPED spot loses the flag.
+        if (ticket.getSpotCategory() == SpotCategory.HANDICAPPED) {
+            return new HandicappedVehicle(ticket.getPlateNumber());
+        }
+        if (ticket.getSpotCategory() == SpotCategory.REGULAR) {
+            return new SUV(ticket.getPlateNumber());
+        }
+        return new Car(ticket.getPlateNumber());
+    }
+}
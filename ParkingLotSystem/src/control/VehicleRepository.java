@@ -0,0 +1,20 @@
+package control;
+
+import entity.Vehicle;
+
+/*
+ * VehicleRepository:
+ * - Vehicles currently in the lot, keyed by plate.
+ * - Exit needs the Vehicle object (type, handicapped card) to build the bill.
+ */
+public interface VehicleRepository {
+
+    void save(Vehicle vehicle);
+
+    Vehicle findByPlate(String plateNo);
+
+    /**
+     * @return the vehicle that was removed, or null if the plate was unknown
+     */
+    Vehicle remove(String plateNo);
+}
@@ -4,23 +4,23 @@ public class Bill {
     private final String plateNo;
     private final String spotId;
     private final long hours;
-    private final double parkingFee;
-    private final double fines;
-    private final double totalDue;
+    private final Money parkingFee;
+    private final Money fines;
+    private final Money totalDue;
 
-    public Bill(String plateNo, String spotId, long hours, double parkingFee, double fines) {
+    public Bill(String plateNo, String spotId, long hours, Money parkingFee, Money fines) {
         this.plateNo = plateNo;
         this.spotId = spotId;
         this.hours = hours;
         this.parkingFee = parkingFee;
         this.fines = fines;
-        this.totalDue = parkingFee + fines;
+        this.totalDue = parkingFee.plus(fines);
     }
 
     public String getPlateNo() { return plateNo; }
     public String getSpotId() { return spotId; }
     public long getHours() { return hours; }
-    public double getParkingFee() { return parkingFee; }
-    public double getFines() { return fines; }
-    public double getTotalDue() { return totalDue; }
+    public Money getParkingFee() { return parkingFee; }
+    public Money getFines() { return fines; }
+    public Money getTotalDue() { return totalDue; }
 }
\ No newline at end of file
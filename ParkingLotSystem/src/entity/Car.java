@@ -1,20 +1,26 @@
-package entity;
-
-import enums.SpotCategory;
-
-public class Car extends Vehicle {
-
-    public Car(String plateNumber) {
-        super(plateNumber, false);
-    }
-
-    @Override
-    public SpotCategory getRequiredSpotType() {
-        return SpotCategory.COMPACT;
-    }
-
-    @Override
-    public String getVehicleType() {
-        return "Car";
-    }
-}
+package entity;
+
+import enums.SpotCategory;
+
+public class Car extends Vehicle {
+
+    public Car(String plateNumber) {
+        super(plateNumber, false);
+    }
+
+    @Override
+    public SpotCategory getRequiredSpotType() {
+        return SpotCategory.COMPACT;
+    }
+
+    // A car also fits a regular spot when the compact ones are taken
+    @Override
+    public SpotCategory[] getCompatibleSpotTypes() {
+        return new SpotCategory[] { SpotCategory.COMPACT, SpotCategory.REGULAR };
+    }
+
+    @Override
+    public String getVehicleType() {
+        return "Car";
+    }
+}
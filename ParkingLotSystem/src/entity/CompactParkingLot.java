@@ -0,0 +1,440 @@
+package entity;
+
+import enums.SpotCategory;
+import enums.SpotStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compact spot-state store for very large lots (100k+ spots, or many lots in one process)
+ *
+ * Not a drop-in replacement for ParkingLot: SpotAllocator, the allocation strategies,
+ * ParkingSpotLookup and ExitController all need a ParkingLot (its Floors, floor locks
+ * and distance orders), and nothing here provides those. It only holds spot state
+ * and counts; ParkingBenchmarks measures it against ParkingLot.
+ *
+ * ParkingLot keeps one ParkingSpot object per spot (ID string, status, rate,
+ * plate...). Here spot state is a struct of arrays indexed by spot handle
+ * (floor/row/spot order, same numbering and category layout as ParkingLot):
+ *   occupied   -> bitset, one bit per spot, set by compare-and-set on its word
+ *   categories -> one byte per spot (SpotCategory ordinal)
+ *   vehicles   -> one reference per spot to the plate String (null = none), claimed
+ *                 by compare-and-set before the bit is set; with compressed references
+ *                 that is 4 bytes, and the String is the one the ticket already holds,
+ *                 so nothing is kept after the vehicle leaves
+ *   rate / ID  -> looked up from SpotCategory, rendered from the handle on demand
+ * Counting and scanning walk plain arrays instead of chasing a pointer per spot.
+ *
+ * Code that works on ParkingSpot gets a view (getSpotByHandle, claimFirstAvailableSpot...):
+ * a small object that reads and writes these arrays, created when asked for.
+ */
+public class CompactParkingLot {
+    private static final SpotCategory[] CATEGORIES = SpotCategory.values();
+    private static final Money[] RATES = new Money[CATEGORIES.length];
+    private static final String NO_PLATE = new String("");   // Occupied, plate not known (setStatus)
+
+    static {
+        for (SpotCategory category : CATEGORIES) {
+            RATES[category.ordinal()] = Money.ofSen(category.getBaseHourlyRateSen());
+        }
+    }
+
+    private final String id;
+    private final int numFloors;
+    private final int rowsPerFloor;
+    private final int spotsPerRow;
+    private final int spotsPerFloor;
+
+    private final AtomicLongArray occupied;             // Bit per handle: 1 = OCCUPIED
+    private final byte[] categories;                    // SpotCategory ordinal per handle
+    private final AtomicReferenceArray<String> vehicles; // Plate per handle (null = none)
+    private final FreeSpotIndex[] freeByCategory;       // Lot-wide, over handles
+    private final AtomicIntegerArray availableByFloor;  // [floor * categories + category]
+    private final int[] totalByCategory = new int[CATEGORIES.length];
+
+    /**
+     * Same shape and category layout as new ParkingLot(id, numFloors, rowsPerFloor, spotsPerRow)
+     */
+    public CompactParkingLot(String id, int numFloors, int rowsPerFloor, int spotsPerRow) {
+        this.id = id;
+        this.numFloors = numFloors;
+        this.rowsPerFloor = rowsPerFloor;
+        this.spotsPerRow = spotsPerRow;
+        this.spotsPerFloor = rowsPerFloor * spotsPerRow;
+
+        int total = numFloors * spotsPerFloor;
+        occupied = new AtomicLongArray((total + 63) >>> 6);
+        categories = new byte[total];
+        vehicles = new AtomicReferenceArray<>(total);
+        freeByCategory = new FreeSpotIndex[CATEGORIES.length];
+        for (int i = 0; i < freeByCategory.length; i++) {
+            freeByCategory[i] = new FreeSpotIndex(total);
+        }
+        availableByFloor = new AtomicIntegerArray(numFloors * CATEGORIES.length);
+
+        for (int handle = 0; handle < total; handle++) {
+            int floor = handle / spotsPerFloor;
+            SpotCategory category = Floor.determineSpotCategory(handle % spotsPerFloor + 1);
+            categories[handle] = (byte) category.ordinal();
+            freeByCategory[category.ordinal()].markFree(handle);
+            availableByFloor.incrementAndGet(floor * CATEGORIES.length + category.ordinal());
+            totalByCategory[category.ordinal()]++;
+        }
+    }
+
+    // ===== Claiming and releasing =====
+
+    /**
+     * Claim the first available spot of a category (lowest floor, row, spot first)
+     * Lock-free, same rules as ParkingLot.claimFirstAvailableSpot
+     * @return the spot's handle, or -1 if none of that category is free
+     */
+    public int claimFirstAvailable(SpotCategory category, String vehicle) {
+        FreeSpotIndex index = freeByCategory[category.ordinal()];
+        for (int handle = index.firstFree(); handle >= 0; handle = index.nextFree(handle + 1)) {
+            if (tryOccupy(handle, vehicle)) {
+                return handle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Same as claimFirstAvailable, returning a view of the claimed spot
+     * @return the claimed spot, or null if none of that category is free
+     */
+    public ParkingSpot claimFirstAvailableSpot(SpotCategory category, String vehicle) {
+        int handle = claimFirstAvailable(category, vehicle);
+        return handle < 0 ? null : new SpotView(this, handle);
+    }
+
+    /**
+     * Occupy one spot if it is AVAILABLE
+     * The plate slot is claimed first and only cleared by the release that won the
+     * spot, so an old release can never wipe the plate of a newer claim
+     * @param vehicle plate, or null if not known
+     * @return true if this caller now holds the spot
+     */
+    public boolean tryOccupy(int handle, String vehicle) {
+        if (!vehicles.compareAndSet(handle, null, vehicle == null ? NO_PLATE : vehicle)) {
+            return false;   // Occupied, or still being released
+        }
+
+        // The bit is clear: a release clears it before giving up the plate slot
+        long bit = 1L << handle;
+        int w = handle >>> 6;
+        long word;
+        do {
+            word = occupied.get(w);
+        } while (!occupied.compareAndSet(w, word, word | bit));
+
+        onStatusChanged(handle, SpotStatus.OCCUPIED);
+        return true;
+    }
+
+    /**
+     * Release one spot if it is OCCUPIED
+     * @return true if this call made the spot available
+     */
+    public boolean tryRelease(int handle) {
+        long bit = 1L << handle;
+        int w = handle >>> 6;
+        long word;
+        do {
+            word = occupied.get(w);
+            if ((word & bit) == 0) {
+                return false;
+            }
+        } while (!occupied.compareAndSet(w, word, word & ~bit));
+
+        // This call won the spot; no new claim can take it until the plate slot is empty
+        vehicles.set(handle, null);
+        onStatusChanged(handle, SpotStatus.AVAILABLE);
+        return true;
+    }
+
+    /*
+     * Change the plate of an occupied spot (a free spot keeps no plate)
+     */
+    private void setVehicle(int handle, String vehicle) {
+        String current;
+        do {
+            current = vehicles.get(handle);
+            if (current == null) {
+                return;
+            }
+        } while (!vehicles.compareAndSet(handle, current, vehicle == null ? NO_PLATE : vehicle));
+    }
+
+    /*
+     * Keep the counters and the free index in step with one spot
+     * (same re-check as Floor.onStatusChanged, so a racing occupy/release cannot leave a stale bit)
+     */
+    private void onStatusChanged(int handle, SpotStatus newStatus) {
+        int category = categories[handle];
+        int counter = (handle / spotsPerFloor) * CATEGORIES.length + category;
+        if (newStatus == SpotStatus.AVAILABLE) {
+            availableByFloor.incrementAndGet(counter);
+        } else {
+            availableByFloor.decrementAndGet(counter);
+        }
+
+        FreeSpotIndex index = freeByCategory[category];
+        boolean taken;
+        do {
+            taken = isOccupied(handle);
+            if (taken) {
+                index.markOccupied(handle);
+            } else {
+                index.markFree(handle);
+            }
+        } while (isOccupied(handle) != taken);
+    }
+
+    // ===== Per-spot reads =====
+
+    public boolean isOccupied(int handle) {
+        return (occupied.get(handle >>> 6) & (1L << handle)) != 0;
+    }
+
+    public SpotCategory getCategory(int handle) {
+        return CATEGORIES[categories[handle]];
+    }
+
+    /**
+     * Plate of the vehicle in a spot, or null if it is free
+     */
+    public String getVehicle(int handle) {
+        String vehicle = vehicles.get(handle);
+        return vehicle == NO_PLATE || !isOccupied(handle) ? null : vehicle;
+    }
+
+    public Money getHourlyRate(int handle) {
+        return RATES[categories[handle]];
+    }
+
+    /**
+     * Spot ID in the usual F{floor}-R{row}-S{spot} form, built on each call
+     */
+    public String getSpotID(int handle) {
+        int onFloor = handle % spotsPerFloor;
+        return SpotIdCodec.format(handle / spotsPerFloor + 1, onFloor / spotsPerRow + 1, onFloor % spotsPerRow + 1);
+    }
+
+    /**
+     * Handle of a spot ID, or -1 if the ID is not in this lot
+     */
+    public int getHandle(String spotID) {
+        long decoded = SpotIdCodec.decode(spotID);
+        if (decoded == SpotIdCodec.INVALID) {
+            return -1;
+        }
+        int floor = SpotIdCodec.floorOf(decoded);
+        int row = SpotIdCodec.rowOf(decoded);
+        int spot = SpotIdCodec.spotOf(decoded);
+        if (floor < 1 || floor > numFloors || row < 1 || row > rowsPerFloor || spot < 1 || spot > spotsPerRow) {
+            return -1;
+        }
+        return (floor - 1) * spotsPerFloor + (row - 1) * spotsPerRow + (spot - 1);
+    }
+
+    // ===== ParkingSpot views =====
+
+    public ParkingSpot getSpotByHandle(int handle) {
+        if (handle < 0 || handle >= categories.length) {
+            return null;
+        }
+        return new SpotView(this, handle);
+    }
+
+    public ParkingSpot getSpotByID(String spotID) {
+        int handle = getHandle(spotID);
+        return handle < 0 ? null : new SpotView(this, handle);
+    }
+
+    /**
+     * Views of all available spots of a category (lowest floor first)
+     */
+    public List<ParkingSpot> findAvailableSpots(SpotCategory category) {
+        FreeSpotIndex index = freeByCategory[category.ordinal()];
+        List<ParkingSpot> available = new ArrayList<>(getAvailableCount(category));
+        for (int handle = index.nextFree(0); handle >= 0; handle = index.nextFree(handle + 1)) {
+            available.add(new SpotView(this, handle));
+        }
+        return available;
+    }
+
+    // ===== Counts and scans =====
+
+    public int getTotalSpots() {
+        return categories.length;
+    }
+
+    /**
+     * Occupied spots, counted from the bitset (64 spots per word)
+     */
+    public int getTotalOccupied() {
+        int total = 0;
+        for (int w = 0; w < occupied.length(); w++) {
+            total += Long.bitCount(occupied.get(w));
+        }
+        return total;
+    }
+
+    public int getTotalAvailable() {
+        return getTotalSpots() - getTotalOccupied();
+    }
+
+    public int getAvailableCount(SpotCategory category) {
+        int total = 0;
+        for (int floor = 0; floor < numFloors; floor++) {
+            total += availableByFloor.get(floor * CATEGORIES.length + category.ordinal());
+        }
+        return total;
+    }
+
+    /**
+     * Available spots of a category on one floor (floors numbered from 1)
+     */
+    public int getAvailableCount(int floorNo, SpotCategory category) {
+        return availableByFloor.get((floorNo - 1) * CATEGORIES.length + category.ordinal());
+    }
+
+    /**
+     * Occupied spots of a category, by scanning the bitset against the category bytes
+     */
+    public int getOccupiedCount(SpotCategory category) {
+        byte wanted = (byte) category.ordinal();
+        int total = 0;
+        for (int w = 0; w < occupied.length(); w++) {
+            long word = occupied.get(w);
+            while (word != 0) {
+                int handle = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (categories[handle] == wanted) {
+                    total++;
+                }
+                word &= word - 1;
+            }
+        }
+        return total;
+    }
+
+    public double getOccupancyRate() {
+        if (categories.length == 0) return 0.0;
+        return (getTotalOccupied() * 100.0) / categories.length;
+    }
+
+    /**
+     * Copy of the lot's occupancy figures
+     */
+    public OccupancySnapshot snapshot() {
+        int[] available = new int[CATEGORIES.length];
+        for (int category = 0; category < available.length; category++) {
+            for (int floor = 0; floor < numFloors; floor++) {
+                available[category] += availableByFloor.get(floor * CATEGORIES.length + category);
+            }
+        }
+        int occupiedSpots = 0;
+        for (int category = 0; category < available.length; category++) {
+            occupiedSpots += totalByCategory[category] - available[category];
+        }
+        return new OccupancySnapshot(categories.length, occupiedSpots, available);
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public int getNumFloors() {
+        return numFloors;
+    }
+
+    public int getRowsPerFloor() {
+        return rowsPerFloor;
+    }
+
+    public int getSpotsPerRow() {
+        return spotsPerRow;
+    }
+
+    /*
+     * ParkingSpot backed by one handle of a CompactParkingLot
+     * Holds no state of its own; two views of the same spot are equal
+     */
+    private static final class SpotView extends ParkingSpot {
+        private final CompactParkingLot lot;
+
+        SpotView(CompactParkingLot lot, int handle) {
+            super(handle);
+            this.lot = lot;
+        }
+
+        @Override
+        public boolean tryOccupy(String vehicle) {
+            return lot.tryOccupy(getHandle(), vehicle);
+        }
+
+        @Override
+        public boolean tryRelease() {
+            return lot.tryRelease(getHandle());
+        }
+
+        @Override
+        public String getSpotID() {
+            return lot.getSpotID(getHandle());
+        }
+
+        @Override
+        public SpotStatus getStatus() {
+            return lot.isOccupied(getHandle()) ? SpotStatus.OCCUPIED : SpotStatus.AVAILABLE;
+        }
+
+        @Override
+        public SpotCategory getCategory() {
+            return lot.getCategory(getHandle());
+        }
+
+        @Override
+        public String getCurrentVehicle() {
+            return lot.getVehicle(getHandle());
+        }
+
+        @Override
+        public boolean isReleased() {
+            return !lot.isOccupied(getHandle());
+        }
+
+        @Override
+        public Money getHourlyRate() {
+            return lot.getHourlyRate(getHandle());
+        }
+
+        @Override
+        public void setStatus(SpotStatus status) {
+            if (status == SpotStatus.OCCUPIED) {
+                lot.tryOccupy(getHandle(), null);
+            } else {
+                lot.tryRelease(getHandle());
+            }
+        }
+
+        @Override
+        public void setCurrentVehicle(String vehicle) {
+            lot.setVehicle(getHandle(), vehicle);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SpotView && ((SpotView) o).lot == lot && ((SpotView) o).getHandle() == getHandle();
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(lot) * 31 + getHandle();
+        }
+    }
+}
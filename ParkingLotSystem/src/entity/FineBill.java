@@ -1,17 +1,17 @@
-package entity;
-
-public class FineBill {
-    private final Bill baseBill;
-    private final double fineDue;
-    private final double totalDue;
-
-    public FineBill(Bill baseBill, double fineDue) {
-        this.baseBill = baseBill;
-        this.fineDue = fineDue;
-        this.totalDue = baseBill.getParkingFee() + fineDue;
-    }
-
-    public Bill getBaseBill() { return baseBill; }
-    public double getFineDue() { return fineDue; }
-    public double getTotalDue() { return totalDue; }
+package entity;
+
+public class FineBill {
+    private final Bill baseBill;
+    private final Money fineDue;
+    private final Money totalDue;
+
+    public FineBill(Bill baseBill, Money fineDue) {
+        this.baseBill = baseBill;
+        this.fineDue = fineDue;
+        this.totalDue = baseBill.getParkingFee().plus(fineDue);
+    }
+
+    public Bill getBaseBill() { return baseBill; }
+    public Money getFineDue() { return fineDue; }
+    public Money getTotalDue() { return totalDue; }
 }
\ No newline at end of file
@@ -1,146 +1,632 @@
-package entity;
-
-import enums.SpotStatus;
-import enums.SpotCategory;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Represents one floor in the parking lot
- * Contains multiple parking spots arranged in rows
- */
-public class Floor {  // ← CORRECTED: Was "ParkingSpot", now "Floor"
-    private int floorNo;
-    private List<ParkingSpot> spots;
-    
-    // Constructor
-    public Floor(int floorNo) {
-        this.floorNo = floorNo;
-        this.spots = new ArrayList<>();
-    }
-    
-    /**
-     * Initialize all parking spots for this floor
-     * @param rows Number of rows on this floor
-     * @param spotsPerRow Number of spots in each row
-     */
-    public void initializeSpots(int rows, int spotsPerRow) {
-        spots.clear(); // Clear any existing spots
-        int spotCounter = 1;
-        
-        for (int row = 1; row <= rows; row++) {
-            for (int spot = 1; spot <= spotsPerRow; spot++) {
-                // Generate spot ID: F{floor}-R{row}-S{spot}
-                String spotID = String.format("F%d-R%d-S%d", floorNo, row, spot);
-                
-                // Assign category based on pattern
-                SpotCategory category = determineSpotCategory(spotCounter);
-                
-                // Create and add the spot
-                spots.add(new ParkingSpot(spotID, category));
-                spotCounter++;
-            }
-        }
-        
-        System.out.println("Floor " + floorNo + " initialized with " + spots.size() + " spots");
-    }
-    
-    /**
-     * Determine spot category based on a distribution pattern
-     * This creates a mix of different spot types
-     */
-    private SpotCategory determineSpotCategory(int spotNumber) {
-        // Every 10th spot is RESERVED
-        if (spotNumber % 10 == 0) {
-            return SpotCategory.RESERVED;
-        }
-        // Every 7th spot (not 10th) is HANDICAPPED
-        else if (spotNumber % 7 == 0) {
-            return SpotCategory.HANDICAPPED;
-        }
-        // Every 3rd spot (not 7th or 10th) is COMPACT
-        else if (spotNumber % 3 == 0) {
-            return SpotCategory.COMPACT;
-        }
-        // All others are REGULAR
-        else {
-            return SpotCategory.REGULAR;
-        }
-    }
-    
-    /**
-     * Get all available spots of a specific category
-     */
-    public List<ParkingSpot> getAvailableSpots(SpotCategory category) {
-        List<ParkingSpot> available = new ArrayList<>();
-        for (ParkingSpot spot : spots) {
-            if (spot.getStatus() == SpotStatus.AVAILABLE && 
-                spot.getCategory() == category) {
-                available.add(spot);
-            }
-        }
-        return available;
-    }
-    
-    /**
-     * Find a spot by its ID
-     */
-    public ParkingSpot getSpotByID(String spotID) {
-        for (ParkingSpot spot : spots) {
-            if (spot.getSpotID().equals(spotID)) {
-                return spot;
-            }
-        }
-        return null;
-    }
-    
-    /**
-     * Get count of occupied spots on this floor
-     */
-    public int getOccupiedCount() {
-        int count = 0;
-        for (ParkingSpot spot : spots) {
-            if (spot.getStatus() == SpotStatus.OCCUPIED) {
-                count++;
-            }
-        }
-        return count;
-    }
-    
-    /**
-     * Get count of available spots on this floor
-     */
-    public int getAvailableCount() {
-        return spots.size() - getOccupiedCount();
-    }
-    
-    /**
-     * Get occupancy rate for this floor (as percentage)
-     */
-    public double getOccupancyRate() {
-        if (spots.isEmpty()) return 0.0;
-        return (getOccupiedCount() * 100.0) / spots.size();
-    }
-    
-    // Getters
-    public int getFloorNo() {
-        return floorNo;
-    }
-    
-    public List<ParkingSpot> getSpots() {
-        return spots;
-    }
-    
-    public int getTotalSpots() {
-        return spots.size();
-    }
-    
-    // Display floor status
-    public void displayStatus() {
-        System.out.println("\n=== Floor " + floorNo + " Status ===");
-        System.out.println("Total Spots: " + getTotalSpots());
-        System.out.println("Occupied: " + getOccupiedCount());
-        System.out.println("Available: " + getAvailableCount());
-        System.out.println("Occupancy Rate: " + String.format("%.2f%%", getOccupancyRate()));
-    }
+package entity;
+
+import enums.LogLevel;
+import enums.SpotStatus;
+import enums.SpotCategory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.StampedLock;
+import logging.EventLog;
+
+/**
+ * Represents one floor in the parking lot
+ * Contains multiple parking spots arranged in rows
+ */
+public class Floor {  // ← CORRECTED: Was "ParkingSpot", now "Floor"
+    private int floorNo;
+    private int rows;
+    private int spotsPerRow;
+    private List<ParkingSpot> spots;
+    private FreeSpotIndex[] freeByCategory;    // Free-spot index per SpotCategory (by ordinal)
+    private final AtomicInteger occupiedCount = new AtomicInteger();
+    private final AtomicIntegerArray availableByCategory =
+            new AtomicIntegerArray(SpotCategory.values().length);
+    private int[] totalByCategory = new int[SpotCategory.values().length];
+    private final StampedLock lock = new StampedLock();    // Stripe for FLOOR_LOCKED mode
+    private volatile ParkingLot.StatusListener statusListener;
+    private volatile DistanceOrder[] distanceOrders = new DistanceOrder[0];  // One per point ranked from
+    
+    /**
+     * Spots ranked by distance from a point on the floor (entry gate, elevator),
+     * with a free-spot index per category over the ranks: lowest free rank = nearest free spot
+     * Obtained from rankByDistance and passed back to claimNearest / nearestAvailableDistance
+     */
+    public static final class DistanceOrder {
+        final int fromRow;
+        final int fromSpot;
+        final int[] slotByRank;
+        final int[] rankBySlot;
+        final int[] distanceBySlot;
+        final FreeSpotIndex[] freeByCategory;
+        
+        DistanceOrder(int fromRow, int fromSpot, int[] slotByRank, int[] distanceBySlot) {
+            this.fromRow = fromRow;
+            this.fromSpot = fromSpot;
+            this.slotByRank = slotByRank;
+            this.distanceBySlot = distanceBySlot;
+            this.rankBySlot = new int[slotByRank.length];
+            for (int rank = 0; rank < slotByRank.length; rank++) {
+                rankBySlot[slotByRank[rank]] = rank;
+            }
+            this.freeByCategory = newIndexes(slotByRank.length);
+        }
+    }
+    
+    // Constructor
+    public Floor(int floorNo) {
+        this.floorNo = floorNo;
+        this.spots = new ArrayList<>();
+        this.freeByCategory = newIndexes(0);
+    }
+    
+    /**
+     * Initialize all parking spots for this floor
+     * @param rows Number of rows on this floor
+     * @param spotsPerRow Number of spots in each row
+     */
+    public void initializeSpots(int rows, int spotsPerRow) {
+        spots.clear(); // Clear any existing spots
+        this.rows = rows;
+        this.spotsPerRow = spotsPerRow;
+        freeByCategory = newIndexes(rows * spotsPerRow);
+        totalByCategory = new int[SpotCategory.values().length];
+        occupiedCount.set(0);
+        for (int i = 0; i < availableByCategory.length(); i++) {
+            availableByCategory.set(i, 0);
+        }
+        distanceOrders = new DistanceOrder[0];
+        int spotCounter = 1;
+        
+        for (int row = 1; row <= rows; row++) {
+            for (int spot = 1; spot <= spotsPerRow; spot++) {
+                // Spot is known by floor and slot; its ID F{floor}-R{row}-S{spot} is built on first use
+                
+                // Assign category based on pattern
+                SpotCategory category = determineSpotCategory(spotCounter);
+                
+                // Create and add the spot
+                ParkingSpot parkingSpot = new ParkingSpot(category, this, spots.size());
+                freeByCategory[category.ordinal()].markFree(spots.size());
+                availableByCategory.incrementAndGet(category.ordinal());
+                totalByCategory[category.ordinal()]++;
+                spots.add(parkingSpot);
+                spotCounter++;
+            }
+        }
+        
+        if (EventLog.isEnabled(LogLevel.DEBUG)) {
+            EventLog.debug("Floor " + floorNo + " initialized with " + spots.size() + " spots");
+        }
+    }
+    
+    /**
+     * Determine spot category based on a distribution pattern
+     * This creates a mix of different spot types
+     * Also used by CompactParkingLot, so both lay out a floor the same way
+     */
+    static SpotCategory determineSpotCategory(int spotNumber) {
+        // Every 10th spot is RESERVED
+        if (spotNumber % 10 == 0) {
+            return SpotCategory.RESERVED;
+        }
+        // Every 7th spot (not 10th) is HANDICAPPED
+        else if (spotNumber % 7 == 0) {
+            return SpotCategory.HANDICAPPED;
+        }
+        // Every 3rd spot (not 7th or 10th) is COMPACT
+        else if (spotNumber % 3 == 0) {
+            return SpotCategory.COMPACT;
+        }
+        // All others are REGULAR
+        else {
+            return SpotCategory.REGULAR;
+        }
+    }
+    
+    private static FreeSpotIndex[] newIndexes(int capacity) {
+        FreeSpotIndex[] indexes = new FreeSpotIndex[SpotCategory.values().length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = new FreeSpotIndex(capacity);
+        }
+        return indexes;
+    }
+    
+    /**
+     * Keep the free-spot index and occupancy counters in sync with a spot
+     * Called by ParkingSpot by whichever thread won an AVAILABLE <-> OCCUPIED transition
+     */
+    void onStatusChanged(ParkingSpot spot, SpotStatus newStatus) {
+        int category = spot.getCategory().ordinal();
+        if (newStatus == SpotStatus.AVAILABLE) {
+            availableByCategory.incrementAndGet(category);
+            occupiedCount.decrementAndGet();
+        } else {
+            availableByCategory.decrementAndGet(category);
+            occupiedCount.incrementAndGet();
+        }
+        
+        syncIndex(freeByCategory[category], spot.getSlot(), spot);
+        for (DistanceOrder order : distanceOrders) {
+            syncIndex(order.freeByCategory[category], order.rankBySlot[spot.getSlot()], spot);
+        }
+        
+        ParkingLot.StatusListener listener = statusListener;
+        if (listener != null) {
+            listener.statusChanged(spot, newStatus);
+        }
+    }
+    
+    /*
+     * Write an index bit from the spot's current status and re-check it, so a
+     * concurrent occupy/release of the same spot cannot leave a stale bit
+     */
+    private static void syncIndex(FreeSpotIndex index, int bit, ParkingSpot spot) {
+        SpotStatus current;
+        do {
+            current = spot.getStatus();
+            if (current == SpotStatus.AVAILABLE) {
+                index.markFree(bit);
+            } else {
+                index.markOccupied(bit);
+            }
+        } while (spot.getStatus() != current);
+    }
+    
+    void setStatusListener(ParkingLot.StatusListener listener) {
+        this.statusListener = listener;
+    }
+    
+    /**
+     * Get the first available spot of a category (lowest row/spot first)
+     * Uses the free-spot index, so no list is built
+     * @return the spot, or null if none of that category is free
+     */
+    public ParkingSpot findFirstAvailable(SpotCategory category) {
+        int slot = freeByCategory[category.ordinal()].firstFree();
+        return slot < 0 ? null : spots.get(slot);
+    }
+    
+    /**
+     * Claim the first available spot of a category for a vehicle
+     * Lock-free: if another gate wins the same spot, moves on to the next free one
+     * @return the claimed spot, or null if none of that category is free
+     */
+    public ParkingSpot claimFirstAvailable(SpotCategory category, String vehicle) {
+        FreeSpotIndex index = freeByCategory[category.ordinal()];
+        for (int slot = index.firstFree(); slot >= 0; slot = index.nextFree(slot + 1)) {
+            ParkingSpot spot = spots.get(slot);
+            if (spot.tryOccupy(vehicle)) {
+                return spot;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Claim the first available spot of a category while holding this floor's lock
+     * Used by ConcurrencyMode.FLOOR_LOCKED - gates on other floors are never blocked
+     * @return the claimed spot, or null if none of that category is free
+     */
+    public ParkingSpot claimFirstAvailableLocked(SpotCategory category, String vehicle) {
+        if (getAvailableCount(category) == 0) {
+            return null; // Nothing to claim, skip the lock
+        }
+        
+        long stamp = lock.writeLock();
+        try {
+            return claimFirstAvailable(category, vehicle);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Rank this floor's spots by walking distance from a point on the floor
+     * (rows and spots both count as one step), nearest first; ties keep row/spot order
+     * Sorted once here, so claimNearest only has to find the lowest free rank
+     * The floor keeps one ranking per point, so callers ranking from different
+     * points (e.g. two gates) each get their own and never disturb each other
+     * @param fromRow row of the entry gate or elevator (starting from 1)
+     * @param fromSpot spot position along that row (starting from 1)
+     * @return the ranking, to pass to claimNearest / nearestAvailableDistance
+     */
+    public DistanceOrder rankByDistance(int fromRow, int fromSpot) {
+        DistanceOrder existing = findDistanceOrder(fromRow, fromSpot);
+        if (existing != null) {
+            return existing;
+        }
+        
+        int[] distanceBySlot = new int[spots.size()];
+        Integer[] slots = new Integer[spots.size()];
+        for (int slot = 0; slot < slots.length; slot++) {
+            int row = slot / spotsPerRow + 1;
+            int spot = slot % spotsPerRow + 1;
+            distanceBySlot[slot] = Math.abs(row - fromRow) + Math.abs(spot - fromSpot);
+            slots[slot] = slot;
+        }
+        Arrays.sort(slots, Comparator.comparingInt((Integer slot) -> distanceBySlot[slot]));
+        int[] slotByRank = new int[slots.length];
+        for (int rank = 0; rank < slots.length; rank++) {
+            slotByRank[rank] = slots[rank];
+        }
+        
+        DistanceOrder order = new DistanceOrder(fromRow, fromSpot, slotByRank, distanceBySlot);
+        long stamp = lock.writeLock();
+        try {
+            existing = findDistanceOrder(fromRow, fromSpot);
+            if (existing != null) {
+                return existing; // Another caller ranked from the same point first
+            }
+            // Published before filling, so a spot changing meanwhile also updates the new index
+            DistanceOrder[] orders = Arrays.copyOf(distanceOrders, distanceOrders.length + 1);
+            orders[orders.length - 1] = order;
+            distanceOrders = orders;
+            for (ParkingSpot spot : spots) {
+                syncIndex(order.freeByCategory[spot.getCategory().ordinal()], order.rankBySlot[spot.getSlot()], spot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return order;
+    }
+    
+    private DistanceOrder findDistanceOrder(int fromRow, int fromSpot) {
+        for (DistanceOrder order : distanceOrders) {
+            if (order.fromRow == fromRow && order.fromSpot == fromSpot) {
+                return order;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Distance of the nearest available spot of a category (see rankByDistance)
+     * @param order this floor's ranking, from rankByDistance
+     * @return the distance, or -1 if none of that category is free
+     */
+    public int nearestAvailableDistance(DistanceOrder order, SpotCategory category) {
+        int rank = order.freeByCategory[category.ordinal()].firstFree();
+        return rank < 0 ? -1 : order.distanceBySlot[order.slotByRank[rank]];
+    }
+    
+    /**
+     * Claim the nearest available spot of a category (see rankByDistance)
+     * Same lock-free claim as claimFirstAvailable, walking ranks instead of slots
+     * @param order this floor's ranking, from rankByDistance
+     * @return the claimed spot, or null if none of that category is free
+     */
+    public ParkingSpot claimNearest(DistanceOrder order, SpotCategory category, String vehicle) {
+        FreeSpotIndex index = order.freeByCategory[category.ordinal()];
+        for (int rank = index.firstFree(); rank >= 0; rank = index.nextFree(rank + 1)) {
+            ParkingSpot spot = spots.get(order.slotByRank[rank]);
+            if (spot.tryOccupy(vehicle)) {
+                return spot;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Claim the nearest available spot of a category while holding this floor's lock
+     * Used by ConcurrencyMode.FLOOR_LOCKED
+     * @return the claimed spot, or null if none of that category is free
+     */
+    public ParkingSpot claimNearestLocked(DistanceOrder order, SpotCategory category, String vehicle) {
+        if (getAvailableCount(category) == 0) {
+            return null; // Nothing to claim, skip the lock
+        }
+        
+        long stamp = lock.writeLock();
+        try {
+            return claimNearest(order, category, vehicle);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Claim spots of a category for several vehicles in one pass over the free-spot index
+     * plates[i] gets claimed[i], starting at 'from'; stops when the category runs out
+     * @return index of the first plate left without a spot (plates.length if all placed)
+     */
+    public int claimAvailable(SpotCategory category, String[] plates, int from, ParkingSpot[] claimed) {
+        FreeSpotIndex index = freeByCategory[category.ordinal()];
+        int next = from;
+        for (int slot = index.firstFree(); slot >= 0 && next < plates.length; slot = index.nextFree(slot + 1)) {
+            ParkingSpot spot = spots.get(slot);
+            if (spot.tryOccupy(plates[next])) {
+                claimed[next++] = spot;
+            }
+        }
+        return next;
+    }
+    
+    /**
+     * Same as claimAvailable, holding this floor's lock once for the whole pass
+     * Used by ConcurrencyMode.FLOOR_LOCKED
+     */
+    public int claimAvailableLocked(SpotCategory category, String[] plates, int from, ParkingSpot[] claimed) {
+        if (getAvailableCount(category) == 0) {
+            return from; // Nothing to claim, skip the lock
+        }
+    
+        long stamp = lock.writeLock();
+        try {
+            return claimAvailable(category, plates, from, claimed);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Claim spots for a group of vehicles inside the shortest run of consecutive
+     * spots on this floor that can hold all of them
+     * @param suitable per vehicle, a bit mask of accepted categories (bit = ordinal)
+     * @return true if every plates[i] got claimed[i]; false (nothing claimed) if no
+     *         run fits or a spot in it was lost to another gate
+     */
+    public boolean claimAdjacent(int[] suitable, String[] plates, ParkingSpot[] claimed) {
+        int groupSize = plates.length;
+        int[] free = new int[SpotCategory.values().length];
+        int[] left = new int[free.length];
+        int[] chosen = new int[groupSize];
+        int bestStart = -1;
+        int bestEnd = spots.size() + 1;
+    
+        // Sliding window: grow on the right, shrink from the left while it still fits
+        int start = 0;
+        for (int end = 0; end < spots.size(); end++) {
+            ParkingSpot added = spots.get(end);
+            if (added.getStatus() == SpotStatus.AVAILABLE) {
+                free[added.getCategory().ordinal()]++;
+            }
+            while (end - start + 1 >= groupSize && fits(suitable, free, left, chosen)) {
+                if (end + 1 - start < bestEnd - bestStart) {
+                    bestStart = start;
+                    bestEnd = end + 1;
+                }
+                ParkingSpot removed = spots.get(start++);
+                if (removed.getStatus() == SpotStatus.AVAILABLE) {
+                    free[removed.getCategory().ordinal()]--;
+                }
+            }
+        }
+        if (bestStart < 0) {
+            return false;
+        }
+    
+        fits(suitable, countFree(bestStart, bestEnd), left, chosen);
+        for (int i = 0; i < groupSize; i++) {
+            ParkingSpot spot = null;
+            for (int slot = bestStart; slot < bestEnd && spot == null; slot++) {
+                ParkingSpot candidate = spots.get(slot);
+                if (candidate.getCategory().ordinal() == chosen[i] && candidate.tryOccupy(plates[i])) {
+                    spot = candidate;
+                }
+            }
+            if (spot == null) {
+                // Another gate took a spot in the run: give back what this group got
+                for (int j = 0; j < i; j++) {
+                    claimed[j].tryRelease();
+                    claimed[j] = null;
+                }
+                return false;
+            }
+            claimed[i] = spot;
+        }
+        return true;
+    }
+    
+    /**
+     * Same as claimAdjacent, holding this floor's lock for the search and the claims
+     */
+    public boolean claimAdjacentLocked(int[] suitable, String[] plates, ParkingSpot[] claimed) {
+        long stamp = lock.writeLock();
+        try {
+            return claimAdjacent(suitable, plates, claimed);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /*
+     * Can the free spots counted in 'free' hold every vehicle? Vehicles are expected
+     * with the fewest options first; each takes the lowest category it accepts that is
+     * still free. chosen[i] receives the category ordinal picked for vehicle i;
+     * 'left' is scratch space the size of 'free'.
+     */
+    private static boolean fits(int[] suitable, int[] free, int[] left, int[] chosen) {
+        System.arraycopy(free, 0, left, 0, free.length);
+        for (int i = 0; i < suitable.length; i++) {
+            int category = -1;
+            for (int c = 0; c < left.length && category < 0; c++) {
+                if ((suitable[i] & (1 << c)) != 0 && left[c] > 0) {
+                    category = c;
+                }
+            }
+            if (category < 0) {
+                return false;
+            }
+            left[category]--;
+            chosen[i] = category;
+        }
+        return true;
+    }
+    
+    private int[] countFree(int fromSlot, int toSlot) {
+        int[] free = new int[SpotCategory.values().length];
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            ParkingSpot spot = spots.get(slot);
+            if (spot.getStatus() == SpotStatus.AVAILABLE) {
+                free[spot.getCategory().ordinal()]++;
+            }
+        }
+        return free;
+    }
+    
+    /**
+     * Release a spot on this floor while holding this floor's lock
+     * @return true if the spot was occupied and is now available
+     */
+    public boolean releaseLocked(ParkingSpot spot) {
+        long stamp = lock.writeLock();
+        try {
+            return spot.tryRelease();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Release several spots on this floor under one hold of this floor's lock
+     * @return number of spots that were occupied and are now available
+     */
+    public int releaseAllLocked(List<ParkingSpot> spotsToRelease) {
+        int released = 0;
+        long stamp = lock.writeLock();
+        try {
+            for (ParkingSpot spot : spotsToRelease) {
+                if (spot.tryRelease()) {
+                    released++;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return released;
+    }
+    
+    /**
+     * Take a consistent copy of this floor's counters
+     * Uses an optimistic read, so writers are not blocked; only falls back to
+     * a read lock if writers keep changing the floor during the copy
+     */
+    public OccupancySnapshot snapshot() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            OccupancySnapshot copy = copyCounters();
+            if (stamp != 0 && lock.validate(stamp)) {
+                return copy;
+            }
+        }
+        
+        long stamp = lock.readLock();
+        try {
+            return copyCounters();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    private OccupancySnapshot copyCounters() {
+        int[] available = new int[availableByCategory.length()];
+        for (int i = 0; i < available.length; i++) {
+            available[i] = availableByCategory.get(i);
+        }
+        return new OccupancySnapshot(spots.size(), occupiedCount.get(), available);
+    }
+    
+    /**
+     * Get count of available spots of a specific category
+     */
+    public int getAvailableCount(SpotCategory category) {
+        return availableByCategory.get(category.ordinal());
+    }
+    
+    /**
+     * Get all available spots of a specific category
+     */
+    public List<ParkingSpot> getAvailableSpots(SpotCategory category) {
+        FreeSpotIndex index = freeByCategory[category.ordinal()];
+        List<ParkingSpot> available = new ArrayList<>(getAvailableCount(category));
+        for (int slot = index.nextFree(0); slot >= 0; slot = index.nextFree(slot + 1)) {
+            available.add(spots.get(slot));
+        }
+        return available;
+    }
+    
+    /**
+     * Find a spot by its ID
+     * The ID is decoded straight into a row/spot position, no scan needed
+     */
+    public ParkingSpot getSpotByID(String spotID) {
+        long decoded = SpotIdCodec.decode(spotID);
+        if (decoded == SpotIdCodec.INVALID || SpotIdCodec.floorOf(decoded) != floorNo) {
+            return null;
+        }
+        return getSpot(SpotIdCodec.rowOf(decoded), SpotIdCodec.spotOf(decoded));
+    }
+    
+    /**
+     * Find a spot by its row and spot number (both starting from 1)
+     * @return the spot, or null if outside this floor
+     */
+    public ParkingSpot getSpot(int row, int spot) {
+        if (row < 1 || row > rows || spot < 1 || spot > spotsPerRow) {
+            return null;
+        }
+        return spots.get((row - 1) * spotsPerRow + (spot - 1));
+    }
+    
+    /**
+     * Get count of occupied spots on this floor
+     * Maintained on every occupy/release, so no scan is needed
+     */
+    public int getOccupiedCount() {
+        return occupiedCount.get();
+    }
+    
+    /**
+     * Get count of available spots on this floor
+     */
+    public int getAvailableCount() {
+        return spots.size() - getOccupiedCount();
+    }
+    
+    /**
+     * Get occupancy rate for this floor (as percentage)
+     */
+    public double getOccupancyRate() {
+        if (spots.isEmpty()) return 0.0;
+        return (getOccupiedCount() * 100.0) / spots.size();
+    }
+    
+    // Getters
+    public int getFloorNo() {
+        return floorNo;
+    }
+    
+    public List<ParkingSpot> getSpots() {
+        return spots;
+    }
+    
+    public int getTotalSpots() {
+        return spots.size();
+    }
+    
+    public int getTotalSpots(SpotCategory category) {
+        return totalByCategory[category.ordinal()];
+    }
+    
+    public int getRows() {
+        return rows;
+    }
+    
+    public int getSpotsPerRow() {
+        return spotsPerRow;
+    }
+    
+    // Display floor status
+    public void displayStatus() {
+        OccupancySnapshot status = snapshot();
+        System.out.println("\n=== Floor " + floorNo + " Status ===");
+        System.out.println("Total Spots: " + status.getTotalSpots());
+        System.out.println("Occupied: " + status.getOccupiedSpots());
+        System.out.println("Available: " + status.getAvailableSpots());
+        System.out.println("Occupancy Rate: " + String.format("%.2f%%", status.getOccupancyRate()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package entity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Free-list of AVAILABLE spots for one category on one floor
+ * Stored as a bitset over the floor's spot slots (bit set = spot is free),
+ * so the lowest free slot keeps the original floor/row/spot ordering
+ *
+ * Lock-free: words are updated with atomic OR/AND, so several entry gates
+ * can read and update the index at the same time. The index only points
+ * at candidates - a spot is really taken by ParkingSpot.tryOccupy.
+ */
+class FreeSpotIndex {
+    private final AtomicLongArray words;
+    private final AtomicInteger firstWord;  // No free bit exists below this word
+
+    FreeSpotIndex(int capacity) {
+        this.words = new AtomicLongArray((capacity + 63) >>> 6);
+        this.firstWord = new AtomicInteger(words.length());
+    }
+
+    /**
+     * Mark a slot as free (spot released)
+     */
+    void markFree(int slot) {
+        int w = slot >>> 6;
+        words.getAndAccumulate(w, 1L << slot, (word, bit) -> word | bit);
+        firstWord.accumulateAndGet(w, Math::min);
+    }
+
+    /**
+     * Mark a slot as taken (spot occupied)
+     */
+    void markOccupied(int slot) {
+        words.getAndAccumulate(slot >>> 6, ~(1L << slot), (word, mask) -> word & mask);
+    }
+
+    /**
+     * Lowest free slot, or -1 if none is free
+     */
+    int firstFree() {
+        int w = firstWord.get();
+        while (w < words.length()) {
+            long word = words.get(w);
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            
+            // Skip the empty word, then re-check it in case a slot was freed meanwhile
+            if (firstWord.compareAndSet(w, w + 1) && words.get(w) != 0) {
+                firstWord.accumulateAndGet(w, Math::min);
+                continue;
+            }
+            w++;
+        }
+        return -1;
+    }
+
+    /**
+     * Next free slot at or after fromSlot, or -1 if none
+     */
+    int nextFree(int fromSlot) {
+        int w = fromSlot >>> 6;
+        if (w >= words.length()) return -1;
+
+        long word = words.get(w) & (-1L << fromSlot);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length()) {
+                return -1;
+            }
+            word = words.get(w);
+        }
+    }
+}
@@ -1,20 +1,20 @@
-package entity;
-
-import enums.SpotCategory;
-
-public class HandicappedVehicle extends Vehicle {
-
-    public HandicappedVehicle(String plateNumber) {
-        super(plateNumber, true);
-    }
-
-    @Override
-    public SpotCategory getRequiredSpotType() {
-        return SpotCategory.HANDICAPPED;
-    }
-
-    @Override
-    public String getVehicleType() {
-        return "Handicapped";
-    }
-}
+package entity;
+
+import enums.SpotCategory;
+
+public class HandicappedVehicle extends Vehicle {
+
+    public HandicappedVehicle(String plateNumber) {
+        super(plateNumber, true);
+    }
+
+    @Override
+    public SpotCategory getRequiredSpotType() {
+        return SpotCategory.HANDICAPPED;
+    }
+
+    @Override
+    public String getVehicleType() {
+        return "Handicapped";
+    }
+}
@@ -0,0 +1,138 @@
+package entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money (Value Object):
+ * - An amount in Ringgit, held as a whole number of sen (RM 1 = 100 sen).
+ * - Adding and subtracting is exact long arithmetic, so totals never drift
+ *   the way sums of doubles do (0.10 + 0.20 != 0.30).
+ * - Immutable. Code that adds up many amounts (revenue counters) can work on
+ *   getSen() directly and stay on primitive longs.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SEN_PER_RINGGIT = 100;
+
+    private final long sen;
+
+    private Money(long sen) {
+        this.sen = sen;
+    }
+
+    // ===== Factories =====
+
+    public static Money ofSen(long sen) {
+        return sen == 0 ? ZERO : new Money(sen);
+    }
+
+    public static Money ofRinggit(long ringgit) {
+        return ofSen(Math.multiplyExact(ringgit, SEN_PER_RINGGIT));
+    }
+
+    /**
+     * Nearest sen to a Ringgit amount given as a double (half rounds away from zero).
+     * Only for values that are already doubles; user input should go through parse().
+     */
+    public static Money fromDouble(double ringgit) {
+        if (Double.isNaN(ringgit) || Double.isInfinite(ringgit)) {
+            throw new IllegalArgumentException("Not an amount: " + ringgit);
+        }
+        return ofSen(BigDecimal.valueOf(ringgit).movePointRight(2)
+                .setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    /**
+     * Parse a Ringgit amount such as "10", "10.5" or "10.50".
+     * @throws NumberFormatException if the text is not a number or has fractions of a sen
+     */
+    public static Money parse(String text) {
+        BigDecimal value = new BigDecimal(text.trim());
+        try {
+            return ofSen(value.movePointRight(2).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Not a whole number of sen: " + text);
+        }
+    }
+
+    // ===== Arithmetic =====
+
+    public Money plus(Money other) {
+        return ofSen(Math.addExact(sen, other.sen));
+    }
+
+    public Money minus(Money other) {
+        return ofSen(Math.subtractExact(sen, other.sen));
+    }
+
+    public Money times(long factor) {
+        return ofSen(Math.multiplyExact(sen, factor));
+    }
+
+    public Money negate() {
+        return ofSen(Math.negateExact(sen));
+    }
+
+    public Money abs() {
+        return sen < 0 ? negate() : this;
+    }
+
+    public boolean isZero() {
+        return sen == 0;
+    }
+
+    public boolean isPositive() {
+        return sen > 0;
+    }
+
+    public boolean isNegative() {
+        return sen < 0;
+    }
+
+    // ===== Conversions =====
+
+    public long getSen() {
+        return sen;
+    }
+
+    // For display and charts only - never add these back up
+    public double toDouble() {
+        return sen / (double) SEN_PER_RINGGIT;
+    }
+
+    /**
+     * Plain amount with two decimals, e.g. "12.50" or "-0.05" (no currency).
+     */
+    public String toPlainString() {
+        long whole = Math.abs(sen / SEN_PER_RINGGIT);
+        long cents = Math.abs(sen % SEN_PER_RINGGIT);
+        StringBuilder text = new StringBuilder(24);
+        if (sen < 0) text.append('-');
+        text.append(whole).append('.');
+        if (cents < 10) text.append('0');
+        return text.append(cents).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "RM " + toPlainString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(sen, other.sen);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).sen == sen;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sen);
+    }
+}
@@ -0,0 +1,61 @@
+package entity;
+
+import enums.SpotCategory;
+import java.util.List;
+
+/**
+ * Immutable, self-consistent copy of occupancy figures
+ * Taken from one floor (Floor.snapshot) or the whole lot (ParkingLot.snapshot)
+ */
+public class OccupancySnapshot {
+    private final int totalSpots;
+    private final int occupiedSpots;
+    private final int[] availableByCategory;    // Indexed by SpotCategory ordinal
+
+    OccupancySnapshot(int totalSpots, int occupiedSpots, int[] availableByCategory) {
+        this.totalSpots = totalSpots;
+        this.occupiedSpots = occupiedSpots;
+        this.availableByCategory = availableByCategory;
+    }
+
+    /**
+     * Add up floor snapshots into one lot-wide snapshot
+     */
+    static OccupancySnapshot sum(List<OccupancySnapshot> parts) {
+        int total = 0;
+        int occupied = 0;
+        int[] available = new int[SpotCategory.values().length];
+        for (OccupancySnapshot part : parts) {
+            total += part.totalSpots;
+            occupied += part.occupiedSpots;
+            for (int i = 0; i < available.length; i++) {
+                available[i] += part.availableByCategory[i];
+            }
+        }
+        return new OccupancySnapshot(total, occupied, available);
+    }
+
+    public int getTotalSpots() {
+        return totalSpots;
+    }
+
+    public int getOccupiedSpots() {
+        return occupiedSpots;
+    }
+
+    public int getAvailableSpots() {
+        return totalSpots - occupiedSpots;
+    }
+
+    public int getAvailableSpots(SpotCategory category) {
+        return availableByCategory[category.ordinal()];
+    }
+
+    /**
+     * Occupancy rate as percentage
+     */
+    public double getOccupancyRate() {
+        if (totalSpots == 0) return 0.0;
+        return (occupiedSpots * 100.0) / totalSpots;
+    }
+}
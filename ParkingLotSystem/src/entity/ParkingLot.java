@@ -1,145 +1,383 @@
-package entity;
-
-import enums.SpotStatus;
-import enums.SpotCategory;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Main ParkingLot class - represents the entire multi-floor parking structure
- * This is the top-level entity that contains all floors
- */
-public class ParkingLot {
-    private String id;                  // Parking lot identifier
-    private List<Floor> floors;         // All floors in the parking lot
-    
-    /**
-     * Constructor - creates a parking lot with multiple floors
-     * @param id Parking lot identifier (e.g., "MAIN")
-     * @param numFloors Number of floors to create
-     * @param rowsPerFloor Number of rows on each floor
-     * @param spotsPerRow Number of spots in each row
-     */
-    public ParkingLot(String id, int numFloors, int rowsPerFloor, int spotsPerRow) {
-        this.id = id;
-        this.floors = new ArrayList<>();
-        
-        System.out.println("Creating Parking Lot: " + id);
-        System.out.println("Floors: " + numFloors + " | Rows/Floor: " + rowsPerFloor + 
-                         " | Spots/Row: " + spotsPerRow);
-        
-        // Create all floors
-        for (int i = 1; i <= numFloors; i++) {
-            Floor floor = new Floor(i);
-            floor.initializeSpots(rowsPerFloor, spotsPerRow);
-            floors.add(floor);
-        }
-        
-        System.out.println("Parking Lot '" + id + "' created successfully!\n");
-    }
-    
-    /**
-     * Find all available spots of a specific category across all floors
-     * This is used by SpotAllocator service
-     */
-    public List<ParkingSpot> findAvailableSpots(SpotCategory category) {
-        List<ParkingSpot> allAvailable = new ArrayList<>();
-        
-        for (Floor floor : floors) {
-            allAvailable.addAll(floor.getAvailableSpots(category));
-        }
-        
-        return allAvailable;
-    }
-    
-    /**
-     * Find a specific spot by its ID across all floors
-     */
-    public ParkingSpot getSpotByID(String spotID) {
-        for (Floor floor : floors) {
-            ParkingSpot spot = floor.getSpotByID(spotID);
-            if (spot != null) {
-                return spot;
-            }
-        }
-        return null; // Spot not found
-    }
-    
-    /**
-     * Calculate overall occupancy rate for the entire parking lot
-     */
-    public double getOccupancyRate() {
-        int totalSpots = 0;
-        int occupiedSpots = 0;
-        
-        for (Floor floor : floors) {
-            totalSpots += floor.getTotalSpots();
-            occupiedSpots += floor.getOccupiedCount();
-        }
-        
-        if (totalSpots == 0) return 0.0;
-        return (occupiedSpots * 100.0) / totalSpots;
-    }
-    
-    /**
-     * Get total number of spots in the parking lot
-     */
-    public int getTotalSpots() {
-        int total = 0;
-        for (Floor floor : floors) {
-            total += floor.getTotalSpots();
-        }
-        return total;
-    }
-    
-    /**
-     * Get total occupied spots
-     */
-    public int getTotalOccupied() {
-        int total = 0;
-        for (Floor floor : floors) {
-            total += floor.getOccupiedCount();
-        }
-        return total;
-    }
-    
-    /**
-     * Get total available spots
-     */
-    public int getTotalAvailable() {
-        return getTotalSpots() - getTotalOccupied();
-    }
-    
-    // Getters
-    public String getId() {
-        return id;
-    }
-    
-    public List<Floor> getFloors() {
-        return floors;
-    }
-    
-    public int getNumFloors() {
-        return floors.size();
-    }
-    
-    /**
-     * Display complete parking lot status
-     */
-    public void displayStatus() {
-        System.out.println("\n╔════════════════════════════════════════╗");
-        System.out.println("║   PARKING LOT STATUS - " + id + "              ║");
-        System.out.println("╚════════════════════════════════════════╝");
-        System.out.println("Total Floors: " + getNumFloors());
-        System.out.println("Total Spots: " + getTotalSpots());
-        System.out.println("Occupied: " + getTotalOccupied());
-        System.out.println("Available: " + getTotalAvailable());
-        System.out.println("Occupancy Rate: " + String.format("%.2f%%", getOccupancyRate()));
-        System.out.println("─────────────────────────────────────────");
-        
-        // Show each floor
-        for (Floor floor : floors) {
-            floor.displayStatus();
-        }
-    }
+package entity;
+
+import enums.SpotStatus;
+import enums.SpotCategory;
+import logging.EventLog;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Main ParkingLot class - represents the entire multi-floor parking structure
+ * This is the top-level entity that contains all floors
+ */
+public class ParkingLot {
+    private String id;                  // Parking lot identifier
+    private List<Floor> floors;         // All floors in the parking lot
+    private ParkingSpot[] spotsByHandle; // Every spot, indexed by its handle
+    private double startupMillis;       // Time taken to build all floors
+    
+    // Told about every spot that becomes OCCUPIED or AVAILABLE (e.g. to publish events)
+    // Runs on the thread that changed the spot, so it must not block
+    public interface StatusListener {
+        void statusChanged(ParkingSpot spot, SpotStatus newStatus);
+    }
+    
+    /**
+     * Constructor - creates a parking lot with multiple floors
+     * @param id Parking lot identifier (e.g., "MAIN")
+     * @param numFloors Number of floors to create
+     * @param rowsPerFloor Number of rows on each floor
+     * @param spotsPerRow Number of spots in each row
+     */
+    public ParkingLot(String id, int numFloors, int rowsPerFloor, int spotsPerRow) {
+        long startNanos = System.nanoTime();
+        this.id = id;
+        this.floors = new ArrayList<>();
+        
+        EventLog.info("Creating Parking Lot: " + id + " | Floors: " + numFloors
+                + " | Rows/Floor: " + rowsPerFloor + " | Spots/Row: " + spotsPerRow);
+        
+        // Create all floors
+        for (int i = 1; i <= numFloors; i++) {
+            Floor floor = new Floor(i);
+            floor.initializeSpots(rowsPerFloor, spotsPerRow);
+            floors.add(floor);
+        }
+        
+        assignHandles();
+        startupMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        
+        EventLog.info("Parking Lot '" + id + "' created successfully in "
+                + String.format("%.1f", startupMillis) + " ms");
+    }
+    
+    /**
+     * Find all available spots of a specific category across all floors
+     * This is used by SpotAllocator service
+     */
+    public List<ParkingSpot> findAvailableSpots(SpotCategory category) {
+        List<ParkingSpot> allAvailable = new ArrayList<>();
+        
+        for (Floor floor : floors) {
+            allAvailable.addAll(floor.getAvailableSpots(category));
+        }
+        
+        return allAvailable;
+    }
+    
+    /**
+     * Find the first available spot of a category (lowest floor first)
+     * Same spot as findAvailableSpots(category).get(0), without building the list
+     * @return the spot, or null if none of that category is free
+     */
+    public ParkingSpot findFirstAvailableSpot(SpotCategory category) {
+        for (Floor floor : floors) {
+            ParkingSpot spot = floor.findFirstAvailable(category);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Claim the first available spot of a category (lowest floor first)
+     * Thread-safe without a global lock - each spot is claimed by compare-and-set
+     * @return the claimed spot, or null if none of that category is free
+     */
+    public ParkingSpot claimFirstAvailableSpot(SpotCategory category, String vehicle) {
+        for (Floor floor : floors) {
+            ParkingSpot spot = floor.claimFirstAvailable(category, vehicle);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Claim the first available spot of a category, locking one floor at a time
+     * Used by ConcurrencyMode.FLOOR_LOCKED
+     * @return the claimed spot, or null if none of that category is free
+     */
+    public ParkingSpot claimFirstAvailableSpotLocked(SpotCategory category, String vehicle) {
+        for (Floor floor : floors) {
+            ParkingSpot spot = floor.claimFirstAvailableLocked(category, vehicle);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Claim spots of a category for several vehicles (lowest floor first)
+     * plates[i] gets claimed[i]; each floor is walked once for the whole batch
+     * @return number of plates that got a spot
+     */
+    public int claimAvailableSpots(SpotCategory category, String[] plates, ParkingSpot[] claimed) {
+        int placed = 0;
+        for (Floor floor : floors) {
+            if (placed == plates.length) break;
+            placed = floor.claimAvailable(category, plates, placed, claimed);
+        }
+        return placed;
+    }
+    
+    /**
+     * Claim spots of a category for several vehicles, locking each floor once
+     * Used by ConcurrencyMode.FLOOR_LOCKED
+     * @return number of plates that got a spot
+     */
+    public int claimAvailableSpotsLocked(SpotCategory category, String[] plates, ParkingSpot[] claimed) {
+        int placed = 0;
+        for (Floor floor : floors) {
+            if (placed == plates.length) break;
+            placed = floor.claimAvailableLocked(category, plates, placed, claimed);
+        }
+        return placed;
+    }
+    
+    /**
+     * Claim neighbouring spots on one floor for a group (lowest floor first)
+     * @param suitable per vehicle, a bit mask of accepted categories (see Floor.claimAdjacent)
+     * @param locked hold each floor's lock while searching it (ConcurrencyMode.FLOOR_LOCKED)
+     * @return true if the whole group was placed; false (nothing claimed) otherwise
+     */
+    public boolean claimAdjacentSpots(int[] suitable, String[] plates, ParkingSpot[] claimed, boolean locked) {
+        for (Floor floor : floors) {
+            if (floor.getAvailableCount() < plates.length) continue;
+            boolean placed = locked
+                    ? floor.claimAdjacentLocked(suitable, plates, claimed)
+                    : floor.claimAdjacent(suitable, plates, claimed);
+            if (placed) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Release a spot under its own floor's lock
+     * @return true if the spot was occupied and is now available
+     */
+    public boolean releaseSpotLocked(ParkingSpot spot) {
+        Floor floor = spot.getFloor();
+        if (floor == null) {
+            return spot.tryRelease();
+        }
+        return floor.releaseLocked(spot);
+    }
+    
+    /**
+     * Release many spots at once (bulk exit), grouped by floor
+     * Each floor's lock is taken once for all of its spots instead of once per spot
+     * @return number of spots that were occupied and are now available
+     */
+    public int releaseSpots(Collection<ParkingSpot> spots) {
+        Map<Floor, List<ParkingSpot>> byFloor = new LinkedHashMap<>();
+        int released = 0;
+        for (ParkingSpot spot : spots) {
+            Floor floor = spot.getFloor();
+            if (floor == null) {
+                if (spot.tryRelease()) released++;
+            } else {
+                byFloor.computeIfAbsent(floor, f -> new ArrayList<>()).add(spot);
+            }
+        }
+        for (Map.Entry<Floor, List<ParkingSpot>> entry : byFloor.entrySet()) {
+            released += entry.getKey().releaseAllLocked(entry.getValue());
+        }
+        return released;
+    }
+    
+    /**
+     * Re-occupy spots from tickets that were still open when the system stopped
+     * Bulk version of occupy() for startup: no per-spot output
+     * If two open tickets name the same spot, the later one wins
+     * @param openTickets open tickets, oldest first
+     * @return the tickets whose spot was re-occupied, oldest first
+     */
+    public List<Ticket> restoreOccupancy(List<Ticket> openTickets) {
+        List<Ticket> restored = new ArrayList<>();
+        for (int i = openTickets.size() - 1; i >= 0; i--) {
+            Ticket ticket = openTickets.get(i);
+            ParkingSpot spot = getSpotByID(ticket.getSpotID());
+            if (spot != null && spot.tryOccupy(ticket.getPlateNumber())) {
+                restored.add(ticket);
+            }
+        }
+        Collections.reverse(restored);
+        return restored;
+    }
+    
+    /**
+     * Number every spot in floor/row/spot order so it can be found by handle
+     */
+    private void assignHandles() {
+        int total = 0;
+        for (Floor floor : floors) {
+            total += floor.getTotalSpots();
+        }
+        
+        spotsByHandle = new ParkingSpot[total];
+        int handle = 0;
+        for (Floor floor : floors) {
+            for (ParkingSpot spot : floor.getSpots()) {
+                spot.assignHandle(handle);
+                spotsByHandle[handle++] = spot;
+            }
+        }
+    }
+    
+    /**
+     * Find a specific spot by its ID across all floors
+     * Decodes F{floor}-R{row}-S{spot} directly instead of scanning floors
+     */
+    public ParkingSpot getSpotByID(String spotID) {
+        long decoded = SpotIdCodec.decode(spotID);
+        if (decoded == SpotIdCodec.INVALID) {
+            return null; // Not a valid spot ID
+        }
+        
+        int floorNo = SpotIdCodec.floorOf(decoded);
+        if (floorNo < 1 || floorNo > floors.size()) {
+            return null; // Spot not found
+        }
+        return floors.get(floorNo - 1).getSpot(SpotIdCodec.rowOf(decoded), SpotIdCodec.spotOf(decoded));
+    }
+    
+    /**
+     * Find a spot by its numeric handle (see ParkingSpot.getHandle)
+     * Array access only - for hot paths that already hold the handle
+     */
+    public ParkingSpot getSpotByHandle(int handle) {
+        if (handle < 0 || handle >= spotsByHandle.length) {
+            return null;
+        }
+        return spotsByHandle[handle];
+    }
+    
+    /**
+     * Calculate overall occupancy rate for the entire parking lot
+     */
+    public double getOccupancyRate() {
+        int totalSpots = getTotalSpots();
+        if (totalSpots == 0) return 0.0;
+        return (getTotalOccupied() * 100.0) / totalSpots;
+    }
+    
+    /**
+     * Get total number of spots in the parking lot
+     */
+    public int getTotalSpots() {
+        return spotsByHandle.length;
+    }
+    
+    /**
+     * Get total occupied spots
+     * Sums the per-floor counters - O(floors), no spot scan
+     */
+    public int getTotalOccupied() {
+        int total = 0;
+        for (Floor floor : floors) {
+            total += floor.getOccupiedCount();
+        }
+        return total;
+    }
+    
+    /**
+     * Get total available spots
+     */
+    public int getTotalAvailable() {
+        return getTotalSpots() - getTotalOccupied();
+    }
+    
+    /**
+     * Get total available spots of a specific category
+     */
+    public int getAvailableCount(SpotCategory category) {
+        int total = 0;
+        for (Floor floor : floors) {
+            total += floor.getAvailableCount(category);
+        }
+        return total;
+    }
+    
+    /**
+     * Get total occupied spots of a specific category
+     */
+    public int getOccupiedCount(SpotCategory category) {
+        int total = 0;
+        for (Floor floor : floors) {
+            total += floor.getTotalSpots(category) - floor.getAvailableCount(category);
+        }
+        return total;
+    }
+    
+    /**
+     * Set (or clear with null) the listener told about every spot status change
+     */
+    public void setStatusListener(StatusListener listener) {
+        for (Floor floor : floors) {
+            floor.setStatusListener(listener);
+        }
+    }
+    
+    /**
+     * Take a consistent copy of the lot's occupancy
+     * Each floor is copied with an optimistic read, so entry/exit is not blocked
+     */
+    public OccupancySnapshot snapshot() {
+        List<OccupancySnapshot> parts = new ArrayList<>(floors.size());
+        for (Floor floor : floors) {
+            parts.add(floor.snapshot());
+        }
+        return OccupancySnapshot.sum(parts);
+    }
+    
+    // Getters
+    public String getId() {
+        return id;
+    }
+    
+    public List<Floor> getFloors() {
+        return floors;
+    }
+    
+    public int getNumFloors() {
+        return floors.size();
+    }
+    
+    /**
+     * Time the constructor took to build the lot, in milliseconds
+     */
+    public double getStartupMillis() {
+        return startupMillis;
+    }
+    
+    /**
+     * Display complete parking lot status
+     */
+    public void displayStatus() {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║   PARKING LOT STATUS - " + id + "              ║");
+        System.out.println("╚════════════════════════════════════════╝");
+        OccupancySnapshot status = snapshot();
+        System.out.println("Total Floors: " + getNumFloors());
+        System.out.println("Total Spots: " + status.getTotalSpots());
+        System.out.println("Occupied: " + status.getOccupiedSpots());
+        System.out.println("Available: " + status.getAvailableSpots());
+        System.out.println("Occupancy Rate: " + String.format("%.2f%%", status.getOccupancyRate()));
+        System.out.println("─────────────────────────────────────────");
+        
+        // Show each floor
+        for (Floor floor : floors) {
+            floor.displayStatus();
+        }
+    }
 }
\ No newline at end of file
@@ -1,94 +1,216 @@
-package entity;
-
-import enums.SpotStatus;
-import enums.SpotCategory;
-
-/**
- * Represents a single parking spot in the parking lot
- * Attributes and methods as per the class diagram
- */
-public class ParkingSpot {
-    // Attributes from diagram
-    private String spotID;              // Format: F1-R1-S1
-    private SpotStatus status;          // AVAILABLE or OCCUPIED
-    private SpotCategory category;      // COMPACT, REGULAR, HANDICAPPED, RESERVED
-    private String currentVehicle;      // License plate (will be Vehicle object later)
-    private boolean isReleased;         // Track if spot is released
-    private double hourlyRate;          // Rate based on category
-    
-    // Constructor
-    public ParkingSpot(String spotID, SpotCategory category) {
-        this.spotID = spotID;
-        this.category = category;
-        this.status = SpotStatus.AVAILABLE;
-        this.currentVehicle = null;
-        this.isReleased = true;
-        this.hourlyRate = category.getBaseHourlyRate();
-    }
-    
-    // Methods from diagram
-    
-    /**
-     * Occupy this spot with a vehicle
-     * @param vehicle The license plate or vehicle identifier
-     */
-    public void occupy(String vehicle) {
-        if (this.status == SpotStatus.AVAILABLE) {
-            this.status = SpotStatus.OCCUPIED;
-            this.currentVehicle = vehicle;
-            this.isReleased = false;
-            System.out.println("Spot " + spotID + " occupied by " + vehicle);
-        } else {
-            System.out.println("Error: Spot " + spotID + " is already occupied!");
-        }
-    }
-    
-    /**
-     * Release this spot (make it available again)
-     */
-    public void release() {
-        this.status = SpotStatus.AVAILABLE;
-        this.currentVehicle = null;
-        this.isReleased = true;
-        System.out.println("Spot " + spotID + " released and now available");
-    }
-    
-    // Getters and Setters
-    public String getSpotID() {
-        return spotID;
-    }
-    
-    public SpotStatus getStatus() {
-        return status;
-    }
-    
-    public SpotCategory getCategory() {
-        return category;
-    }
-    
-    public String getCurrentVehicle() {
-        return currentVehicle;
-    }
-    
-    public boolean isReleased() {
-        return isReleased;
-    }
-    
-    public double getHourlyRate() {
-        return hourlyRate;
-    }
-    
-    public void setStatus(SpotStatus status) {
-        this.status = status;
-    }
-    
-    public void setCurrentVehicle(String vehicle) {
-        this.currentVehicle = vehicle;
-    }
-    
-    // Helper method to display spot info
-    public String getSpotInfo() {
-        return String.format("Spot: %s | Type: %s | Rate: RM%.2f/hr | Status: %s", 
-                           spotID, category.getDisplayName(), hourlyRate, status);
-    }
+package entity;
+
+import enums.LogLevel;
+import enums.SpotStatus;
+import enums.SpotCategory;
+import logging.EventLog;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents a single parking spot in the parking lot
+ * Attributes and methods as per the class diagram
+ */
+public class ParkingSpot {
+    // Attributes from diagram
+    private String spotID;              // Format: F1-R1-S1 (rendered on first use for floor spots)
+    private final AtomicReference<Occupancy> state;  // Status + plate, swapped as one (claimed by CAS)
+    private SpotCategory category;      // COMPACT, REGULAR, HANDICAPPED, RESERVED
+    private Money hourlyRate;           // Rate based on category
+    private Floor floor;                // Owning floor (keeps its free-spot index in sync)
+    private int slot;                   // Position of this spot on its floor
+    private int handle = -1;            // Lot-wide numeric ID (see ParkingLot.getSpotByHandle)
+    
+    // Status and license plate together, so no one sees one without the other
+    private static final class Occupancy {
+        final SpotStatus status;
+        final String vehicle;           // License plate (will be Vehicle object later)
+        
+        Occupancy(SpotStatus status, String vehicle) {
+            this.status = status;
+            this.vehicle = vehicle;
+        }
+    }
+    
+    private static final Occupancy FREE = new Occupancy(SpotStatus.AVAILABLE, null);
+    
+    // One shared rate per category (Money is immutable)
+    private static final Money[] RATES = new Money[SpotCategory.values().length];
+    
+    static {
+        for (SpotCategory category : SpotCategory.values()) {
+            RATES[category.ordinal()] = Money.ofSen(category.getBaseHourlyRateSen());
+        }
+    }
+    
+    // Constructor
+    public ParkingSpot(String spotID, SpotCategory category) {
+        this.spotID = spotID;
+        this.category = category;
+        this.state = new AtomicReference<>(FREE);
+        this.hourlyRate = Money.ofSen(category.getBaseHourlyRateSen());
+    }
+    
+    /**
+     * Spot created by its Floor: identified by floor number and slot (row, position),
+     * the ID string is only built when getSpotID() is first called
+     */
+    ParkingSpot(SpotCategory category, Floor floor, int slot) {
+        this.category = category;
+        this.state = new AtomicReference<>(FREE);
+        this.hourlyRate = RATES[category.ordinal()];
+        this.floor = floor;
+        this.slot = slot;
+    }
+    
+    /**
+     * For views over spot state kept elsewhere (see CompactParkingLot)
+     * The subclass overrides every accessor; none of the fields here are used
+     */
+    ParkingSpot(int handle) {
+        this.state = null;
+        this.handle = handle;
+    }
+    
+    // Methods from diagram
+    
+    /**
+     * Occupy this spot with a vehicle
+     * @param vehicle The license plate or vehicle identifier
+     */
+    public void occupy(String vehicle) {
+        if (tryOccupy(vehicle)) {
+            if (EventLog.isEnabled(LogLevel.DEBUG)) {
+                EventLog.debug("Spot " + getSpotID() + " occupied by " + vehicle);
+            }
+        } else {
+            EventLog.warn("Error: Spot " + getSpotID() + " is already occupied!");
+        }
+    }
+    
+    /**
+     * Atomically claim this spot if it is AVAILABLE (compare-and-set on status + plate)
+     * Safe to call from several entry gates at once - exactly one caller wins
+     * The plate is visible the moment the spot reads OCCUPIED
+     * @param vehicle The license plate or vehicle identifier
+     * @return true if this caller now holds the spot, false if it was taken
+     */
+    public boolean tryOccupy(String vehicle) {
+        Occupancy current = state.get();
+        if (current.status != SpotStatus.AVAILABLE
+                || !state.compareAndSet(current, new Occupancy(SpotStatus.OCCUPIED, vehicle))) {
+            return false;
+        }
+        notifyFloor(SpotStatus.OCCUPIED);
+        return true;
+    }
+    
+    /**
+     * Release this spot (make it available again)
+     */
+    public void release() {
+        if (tryRelease()) {
+            if (EventLog.isEnabled(LogLevel.DEBUG)) {
+                EventLog.debug("Spot " + getSpotID() + " released and now available");
+            }
+        } else {
+            EventLog.warn("Spot " + getSpotID() + " is already available");
+        }
+    }
+    
+    /**
+     * Atomically release this spot if it is OCCUPIED
+     * Status and plate are cleared together, and only by the caller that wins the CAS
+     * @return true if this call made the spot available
+     */
+    public boolean tryRelease() {
+        Occupancy current = state.get();
+        if (current.status != SpotStatus.OCCUPIED || !state.compareAndSet(current, FREE)) {
+            return false;
+        }
+        notifyFloor(SpotStatus.AVAILABLE);
+        return true;
+    }
+    
+    Floor getFloor() {
+        return floor;
+    }
+    
+    int getSlot() {
+        return slot;
+    }
+    
+    void assignHandle(int handle) {
+        this.handle = handle;
+    }
+    
+    /**
+     * Lot-wide numeric ID of this spot, or -1 if not part of a ParkingLot
+     * Use with ParkingLot.getSpotByHandle to avoid parsing the spot ID string
+     */
+    public int getHandle() {
+        return handle;
+    }
+    
+    private void notifyFloor(SpotStatus newStatus) {
+        if (floor != null) {
+            floor.onStatusChanged(this, newStatus);
+        }
+    }
+    
+    // Getters and Setters
+    public String getSpotID() {
+        String id = spotID;
+        if (id == null && floor != null) {
+            // Racing callers build equal strings; either may be kept
+            int spotsPerRow = floor.getSpotsPerRow();
+            id = SpotIdCodec.format(floor.getFloorNo(), slot / spotsPerRow + 1, slot % spotsPerRow + 1);
+            spotID = id;
+        }
+        return id;
+    }
+    
+    public SpotStatus getStatus() {
+        return state.get().status;
+    }
+    
+    public SpotCategory getCategory() {
+        return category;
+    }
+    
+    public String getCurrentVehicle() {
+        return state.get().vehicle;
+    }
+    
+    public boolean isReleased() {
+        return state.get().status == SpotStatus.AVAILABLE;
+    }
+    
+    public Money getHourlyRate() {
+        return hourlyRate;
+    }
+    
+    public void setStatus(SpotStatus status) {
+        Occupancy current;
+        do {
+            current = state.get();
+            if (current.status == status) {
+                return;
+            }
+        } while (!state.compareAndSet(current, status == SpotStatus.AVAILABLE
+                ? FREE : new Occupancy(status, current.vehicle)));
+        notifyFloor(status);
+    }
+    
+    public void setCurrentVehicle(String vehicle) {
+        Occupancy current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new Occupancy(current.status, vehicle)));
+    }
+    
+    // Helper method to display spot info
+    public String getSpotInfo() {
+        return String.format("Spot: %s | Type: %s | Rate: RM%s/hr | Status: %s", 
+                           getSpotID(), getCategory().getDisplayName(), getHourlyRate().toPlainString(), getStatus());
+    }
 }
\ No newline at end of file
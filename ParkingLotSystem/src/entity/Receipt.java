@@ -15,20 +15,20 @@ public class Receipt {
 
     // Billing details
     private final long hours;          // billable hours (ceiling rounding)
-    private final double hourlyRate;   // rate taken from spot
-    private final double parkingFee;   // hours * rate (or 0 if free rule applies)
-    private final double fines;        // total fines (outstanding + new)
+    private final Money hourlyRate;    // rate taken from spot
+    private final Money parkingFee;    // hours * rate (or 0 if free rule applies)
+    private final Money fines;         // total fines (outstanding + new)
 
     // Payment details
-    private final double totalPaid;
+    private final Money totalPaid;
     private final String method;
-    private final double balance; // positive = change, negative = outstanding
+    private final Money balance; // positive = change, negative = outstanding
 
     public Receipt(String plateNo, String spotId,
                    LocalDateTime entryTime, LocalDateTime exitTime,
-                   long hours, double hourlyRate,
-                   double parkingFee, double fines,
-                   double totalPaid, String method, double balance) {
+                   long hours, Money hourlyRate,
+                   Money parkingFee, Money fines,
+                   Money totalPaid, String method, Money balance) {
 
         this.plateNo = plateNo;
         this.spotId = spotId;
@@ -50,10 +50,10 @@ public class Receipt {
      * For real system, this can be replaced with PDF/print formatting later.
      */
     public String format() {
-        double totalDue = parkingFee + fines;
+        Money totalDue = parkingFee.plus(fines);
 
-        String balanceLabel = (balance >= 0) ? "Change" : "Outstanding";
-        double balanceAmount = Math.abs(balance);
+        String balanceLabel = balance.isNegative() ? "Outstanding" : "Change";
+        Money balanceAmount = balance.abs();
 
         return ""
             + "==== EXIT RECEIPT ====" + "\n"
@@ -63,14 +63,14 @@ public class Receipt {
             + "Exit  Time : " + exitTime + "\n"
             + "----------------------" + "\n"
             + "Billable Hours (ceil): " + hours + "\n"
-            + "Rate (RM/hr)         : " + String.format("%.2f", hourlyRate) + "\n"
-            + "Breakdown            : " + hours + " x RM " + String.format("%.2f", hourlyRate)
-            + " = RM " + String.format("%.2f", parkingFee) + "\n"
-            + "Parking Fee          : RM " + String.format("%.2f", parkingFee) + "\n"
-            + "Fines                : RM " + String.format("%.2f", fines) + "\n"
-            + "TOTAL DUE            : RM " + String.format("%.2f", totalDue) + "\n"
+            + "Rate (RM/hr)         : " + hourlyRate.toPlainString() + "\n"
+            + "Breakdown            : " + hours + " x " + hourlyRate
+            + " = " + parkingFee + "\n"
+            + "Parking Fee          : " + parkingFee + "\n"
+            + "Fines                : " + fines + "\n"
+            + "TOTAL DUE            : " + totalDue + "\n"
             + "----------------------" + "\n"
-            + "Paid (" + method + ")       : RM " + String.format("%.2f", totalPaid) + "\n"
-            + balanceLabel + "             : RM " + String.format("%.2f", balanceAmount) + "\n";
+            + "Paid (" + method + ")       : " + totalPaid + "\n"
+            + balanceLabel + "             : " + balanceAmount + "\n";
     }
 }
@@ -0,0 +1,64 @@
+package entity;
+
+import enums.SpotCategory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which spot categories a vehicle may park in, as a bit mask over SpotCategory
+ * ordinals (bit set = allowed). Categories are tried in SpotCategory order.
+ *
+ * Worked out once per vehicle class from Vehicle.getCompatibleSpotTypes and only
+ * looked up afterwards, so the allocation path builds no lists and needs no
+ * instanceof checks. Handicapped card holders may use every category.
+ */
+public final class SpotCompatibility {
+
+    private static final SpotCategory[] CATEGORIES = SpotCategory.values();
+
+    public static final int NONE = 0;
+    public static final int ALL = (1 << CATEGORIES.length) - 1;
+
+    private static final Map<Class<? extends Vehicle>, Integer> MASK_BY_CLASS = new ConcurrentHashMap<>();
+
+    private SpotCompatibility() {
+    }
+
+    /**
+     * Categories this vehicle may use
+     */
+    public static int maskFor(Vehicle vehicle) {
+        if (vehicle.isHandicappedCardHolder()) {
+            return ALL;
+        }
+        Integer mask = MASK_BY_CLASS.get(vehicle.getClass());
+        if (mask == null) {
+            mask = MASK_BY_CLASS.computeIfAbsent(vehicle.getClass(),
+                    type -> maskOf(vehicle.getCompatibleSpotTypes()));
+        }
+        return mask;
+    }
+
+    public static int maskOf(SpotCategory... categories) {
+        int mask = NONE;
+        for (SpotCategory category : categories) {
+            mask |= 1 << category.ordinal();
+        }
+        return mask;
+    }
+
+    public static boolean allows(int mask, SpotCategory category) {
+        return (mask & (1 << category.ordinal())) != 0;
+    }
+
+    /**
+     * Category for an ordinal, from a shared array (SpotCategory.values() copies)
+     */
+    public static SpotCategory category(int ordinal) {
+        return CATEGORIES[ordinal];
+    }
+
+    public static int categoryCount() {
+        return CATEGORIES.length;
+    }
+}
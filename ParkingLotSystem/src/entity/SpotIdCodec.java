@@ -0,0 +1,72 @@
+package entity;
+
+/**
+ * Decodes spot IDs of the form F{floor}-R{row}-S{spot} into numbers
+ * Parses the characters in place (no split, no substring)
+ */
+public final class SpotIdCodec {
+    public static final long INVALID = -1L;
+
+    private static final int FIELD_BITS = 21;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final String TAGS = "FRS";
+
+    private SpotIdCodec() {
+    }
+
+    /**
+     * Decode a spot ID
+     * @return packed floor/row/spot (read with floorOf, rowOf, spotOf), or INVALID
+     */
+    public static long decode(String spotID) {
+        if (spotID == null) return INVALID;
+
+        long packed = 0;
+        int pos = 0;
+        for (int field = 0; field < TAGS.length(); field++) {
+            if (field > 0) {
+                if (pos >= spotID.length() || spotID.charAt(pos) != '-') return INVALID;
+                pos++;
+            }
+            if (pos >= spotID.length() || spotID.charAt(pos) != TAGS.charAt(field)) return INVALID;
+            pos++;
+
+            int start = pos;
+            long value = 0;
+            while (pos < spotID.length() && isAsciiDigit(spotID.charAt(pos))) {
+                value = value * 10 + (spotID.charAt(pos) - '0');
+                if (value > FIELD_MASK) return INVALID;
+                pos++;
+            }
+            if (pos == start) return INVALID;
+            // Generated IDs never have leading zeros ("F01-R1-S1" is not a spot)
+            if (pos - start > 1 && spotID.charAt(start) == '0') return INVALID;
+            packed = (packed << FIELD_BITS) | value;
+        }
+        return pos == spotID.length() ? packed : INVALID;
+    }
+
+    // Only '0'..'9': Character.isDigit also accepts other scripts' digits
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    public static int floorOf(long packed) {
+        return (int) ((packed >>> (2 * FIELD_BITS)) & FIELD_MASK);
+    }
+
+    public static int rowOf(long packed) {
+        return (int) ((packed >>> FIELD_BITS) & FIELD_MASK);
+    }
+
+    public static int spotOf(long packed) {
+        return (int) (packed & FIELD_MASK);
+    }
+
+    /**
+     * Render a spot ID from its numbers
+     */
+    public static String format(int floor, int row, int spot) {
+        return "F" + floor + "-R" + row + "-S" + spot;
+    }
+}
@@ -1,25 +1,41 @@
-package entity;
-
-import enums.SpotCategory;
-
-public abstract class Vehicle {
-    protected String plateNumber;
-    protected boolean handicapped;
-
-    public Vehicle(String plateNumber, boolean handicapped) {
-        this.plateNumber = plateNumber;
-        this.handicapped = handicapped;
-    }
-
-    public String getPlateNumber() {
-        return plateNumber;
-    }
-
-    public boolean isHandicappedCardHolder() {
-        return handicapped;
-    }
-
-    public abstract SpotCategory getRequiredSpotType();
-
-    public abstract String getVehicleType();
-}
+package entity;
+
+import enums.SpotCategory;
+
+public abstract class Vehicle {
+    protected String plateNumber;
+    protected boolean handicapped;
+
+    public Vehicle(String plateNumber, boolean handicapped) {
+        this.plateNumber = plateNumber;
+        this.handicapped = handicapped;
+    }
+
+    public String getPlateNumber() {
+        return plateNumber;
+    }
+
+    public boolean isHandicappedCardHolder() {
+        return handicapped;
+    }
+
+    public abstract SpotCategory getRequiredSpotType();
+
+    /**
+     * Spot categories this type of vehicle fits (without a handicapped card)
+     * Read once per vehicle class by SpotCompatibility; override to allow more
+     * than the required spot type
+     */
+    public SpotCategory[] getCompatibleSpotTypes() {
+        return new SpotCategory[] { getRequiredSpotType() };
+    }
+
+    /**
+     * Categories this vehicle may park in, as a SpotCompatibility mask
+     */
+    public final int getSuitableSpotMask() {
+        return SpotCompatibility.maskFor(this);
+    }
+
+    public abstract String getVehicleType();
+}
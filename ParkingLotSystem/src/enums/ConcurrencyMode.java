@@ -0,0 +1,9 @@
+package enums;
+
+/**
+ * How SpotAllocator keeps parallel entry/exit gates from clashing
+ */
+public enum ConcurrencyMode {
+    LOCK_FREE,      // Each spot is claimed by compare-and-set, no locks
+    FLOOR_LOCKED    // Each floor has its own lock, so different floors never contend
+}
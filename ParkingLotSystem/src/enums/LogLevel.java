@@ -0,0 +1,13 @@
+package enums;
+
+/**
+ * Importance of a domain log message (see logging.EventLog)
+ * Messages below the configured level are skipped before they are built
+ */
+public enum LogLevel {
+    DEBUG,      // Per-spot chatter: occupy / release
+    INFO,       // Per-vehicle events: allocation, tickets, fines
+    WARN,       // Something was refused or not found
+    ERROR,
+    OFF         // Only used as a threshold - turns every message off
+}
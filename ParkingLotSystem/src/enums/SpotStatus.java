@@ -1,10 +1,10 @@
-package enums;
-
-/**
- * Enumeration for parking spot availability status
- * As per the class diagram
- */
-public enum SpotStatus {
-    AVAILABLE,
-    OCCUPIED
+package enums;
+
+/**
+ * Enumeration for parking spot availability status
+ * As per the class diagram
+ */
+public enum SpotStatus {
+    AVAILABLE,
+    OCCUPIED
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package logging;
+
+import enums.LogLevel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands messages to a background writer through a fixed ring buffer
+ * - Gates claim a slot with one compare-and-set, fill it and publish it; they never
+ *   wait for console or file I/O (PrintStream is synchronized, so that used to
+ *   serialize every gate)
+ * - Slots are preallocated and reused; nothing is queued or linked per message
+ * - If the writer falls a full ring behind, new messages are dropped and counted
+ *   instead of blocking the gate
+ */
+public class AsyncLogSink implements LogSink {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = 1_000_000;  // 1 ms
+
+    private final LogSink target;
+    private final int capacity;
+    private final int mask;
+    private final LogLevel[] levels;
+    private final String[] messages;
+    private final AtomicLongArray published;    // Sequence number last published in each slot
+    private final AtomicLong claimed = new AtomicLong();    // Next sequence to hand to a writer
+    private final AtomicLong consumed = new AtomicLong();   // Next sequence the background thread reads
+    private volatile long delivered;            // Every sequence below this has reached the target
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public AsyncLogSink(LogSink target) {
+        this(target, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity ring size, rounded up to a power of two
+     */
+    public AsyncLogSink(LogSink target, int capacity) {
+        this.target = target;
+        this.capacity = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.levels = new LogLevel[this.capacity];
+        this.messages = new String[this.capacity];
+        this.published = new AtomicLongArray(this.capacity);
+        for (int slot = 0; slot < this.capacity; slot++) {
+            published.set(slot, -1);
+        }
+
+        writer = new Thread(this::drainLoop, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void write(LogLevel level, String message) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+
+        // Claim the next sequence unless that would overwrite an unread slot
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= capacity) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        levels[slot] = level;
+        messages[slot] = message;
+        published.lazySet(slot, sequence);  // Ordered after the two stores above
+    }
+
+    /**
+     * Wait until the writer has delivered everything written before this call
+     */
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        while (delivered < target && writer.isAlive()) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Deliver what is left, stop the writer and close the target
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        target.close();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // ===== Background writer =====
+
+    private void drainLoop() {
+        int idle = 0;
+        boolean pending = false;    // Written to the target but not yet flushed
+        while (true) {
+            long next = consumed.get();
+            int slot = (int) next & mask;
+            if (published.get(slot) == next) {
+                LogLevel level = levels[slot];
+                String message = messages[slot];
+                messages[slot] = null;
+                consumed.lazySet(next + 1);     // Slot may now be reused
+                deliver(level, message);
+                pending = true;
+                idle = 0;
+                continue;
+            }
+
+            // Ring is empty (or the next slot is still being filled)
+            if (pending) {
+                reportDropped();
+                target.flush();
+                delivered = next;
+                pending = false;
+            }
+            if (closed && claimed.get() == next) {
+                return;
+            }
+            if (idle < SPIN_TRIES) {
+                idle++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void deliver(LogLevel level, String message) {
+        try {
+            target.write(level, message);
+        } catch (RuntimeException e) {
+            // Keep the writer alive; one bad message must not stop logging
+            e.printStackTrace();
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > droppedReported) {
+            deliver(LogLevel.WARN, (total - droppedReported) + " log message(s) dropped - writer fell behind");
+            droppedReported = total;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package logging;
+
+import enums.LogLevel;
+
+import java.io.PrintStream;
+
+/**
+ * Prints each message straight to a PrintStream on the caller's thread
+ * Same output as the old System.out.println calls; used for demos and tests
+ */
+public class ConsoleSink implements LogSink {
+    private final PrintStream out;  // null = whatever System.out is at the time
+
+    public ConsoleSink() {
+        this(null);
+    }
+
+    public ConsoleSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(LogLevel level, String message) {
+        stream().println(message);
+    }
+
+    @Override
+    public void flush() {
+        stream().flush();
+    }
+
+    private PrintStream stream() {
+        return out != null ? out : System.out;
+    }
+}
@@ -0,0 +1,103 @@
+package logging;
+
+import enums.LogLevel;
+
+/**
+ * Domain log used on the entry/exit paths instead of System.out.println
+ * - Messages below the level are skipped; callers building a message on a hot
+ *   path check isEnabled first so nothing is concatenated when it is off
+ * - The sink decides where messages go: ConsoleSink (default, synchronous) or
+ *   AsyncLogSink (ring buffer + background writer)
+ * - Can be set at startup without code changes:
+ *     -Dparking.log.level=WARN      (DEBUG, INFO, WARN, ERROR, OFF)
+ *     -Dparking.log.async=true
+ */
+public final class EventLog {
+
+    private static volatile LogLevel level = LogLevel.DEBUG;
+    private static volatile LogSink sink = new ConsoleSink();
+    private static boolean shutdownHookInstalled;
+
+    static {
+        String configuredLevel = System.getProperty("parking.log.level");
+        if (configuredLevel != null) {
+            try {
+                level = LogLevel.valueOf(configuredLevel.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Unknown log level: " + configuredLevel);
+            }
+        }
+        if (Boolean.getBoolean("parking.log.async")) {
+            useAsync();
+        }
+    }
+
+    private EventLog() {
+    }
+
+    public static boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel.ordinal() >= level.ordinal() && messageLevel != LogLevel.OFF;
+    }
+
+    public static void debug(String message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public static void info(String message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public static void warn(String message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public static void error(String message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    public static void log(LogLevel messageLevel, String message) {
+        if (isEnabled(messageLevel)) {
+            sink.write(messageLevel, message);
+        }
+    }
+
+    // ===== Configuration =====
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Replace the sink; the old one is flushed and closed
+     */
+    public static synchronized void setSink(LogSink newSink) {
+        LogSink old = sink;
+        sink = newSink;
+        if (old != newSink) {
+            old.close();
+        }
+        if (!shutdownHookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> sink.close()));
+            shutdownHookInstalled = true;
+        }
+    }
+
+    /**
+     * Send messages to the console through a background writer
+     */
+    public static void useAsync() {
+        setSink(new AsyncLogSink(new ConsoleSink()));
+    }
+
+    public static LogSink getSink() {
+        return sink;
+    }
+
+    public static void flush() {
+        sink.flush();
+    }
+}
@@ -0,0 +1,22 @@
+package logging;
+
+import enums.LogLevel;
+
+/**
+ * Where EventLog messages end up
+ * Implementations must be safe to call from several gates at once
+ */
+public interface LogSink {
+
+    void write(LogLevel level, String message);
+
+    /**
+     * Wait until every message written so far has been delivered
+     */
+    default void flush() {
+    }
+
+    default void close() {
+        flush();
+    }
+}
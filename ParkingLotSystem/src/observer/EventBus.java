@@ -0,0 +1,210 @@
+package observer;
+
+import control.ExitController;
+import entity.ParkingLot;
+import logging.EventLog;
+import service.LedgerBackedFineService;
+import service.SpotAllocator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * EventBus:
+ * - Publishers (entry/exit gates, spot changes) hand events to a queue and return;
+ *   one background thread delivers them to the subscribers of that event type.
+ *   A slow subscriber delays other subscribers, never a gate.
+ * - publish() takes no lock. An idle dispatcher is parked until a publisher queues
+ *   an event and unparks it, so it uses no CPU while the lot is quiet; publishers
+ *   only pay for the unpark when the dispatcher is actually asleep.
+ * - Coalescing: while an event with a coalescing key waits, newer events with the
+ *   same key replace it (see ParkingEvent). Other events are bounded by capacity;
+ *   beyond that they are dropped and counted rather than blocking the publisher.
+ * - Delivery is a notification, not a record: ticket files and revenue totals are
+ *   still written by the gate itself, so a dropped event loses nothing.
+ */
+public class EventBus implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 65_536;
+
+    // Receives events of one type on the bus thread
+    public interface Subscriber<E extends ParkingEvent> {
+        void onEvent(E event);
+    }
+
+    private final int capacity;
+    private final Queue<ParkingEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();   // Queued events without a coalescing key
+    private final Map<Object, ParkingEvent> latestByKey = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Subscriber<?>>> subscribersByType = new ConcurrentHashMap<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final Thread dispatcher;
+    private volatile boolean idle;      // Dispatcher is (about to be) parked
+    private volatile boolean closed;
+
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EventBus(int capacity) {
+        this.capacity = capacity;
+        dispatcher = new Thread(this::dispatchLoop, "event-bus");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    // ===== Subscribing =====
+
+    public <E extends ParkingEvent> void subscribe(Class<E> type, Subscriber<? super E> subscriber) {
+        subscribersByType.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    public <E extends ParkingEvent> void unsubscribe(Class<E> type, Subscriber<? super E> subscriber) {
+        List<Subscriber<?>> subscribers = subscribersByType.get(type);
+        if (subscribers != null) subscribers.remove(subscriber);
+    }
+
+    // ===== Publishing =====
+
+    /**
+     * Queue an event for delivery. Never blocks.
+     * @return false if the event was dropped (bus closed or full)
+     */
+    public boolean publish(ParkingEvent event) {
+        if (closed) return false;
+        published.increment();
+
+        Object key = event.coalesceKey();
+        if (key != null) {
+            // Only the first pending event for a key is queued; later ones just replace it
+            if (latestByKey.put(key, event) != null) {
+                coalesced.increment();
+            } else {
+                queue.add(event);
+                wakeDispatcher();
+            }
+            return true;
+        }
+
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.add(event);
+        wakeDispatcher();
+        return true;
+    }
+
+    private void wakeDispatcher() {
+        if (idle) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    // Publish spot changes, tickets, payments and fines from these components
+    public void publishFrom(ParkingLot lot) {
+        lot.setStatusListener((spot, status) -> publish(new ParkingEvent.SpotStatusChanged(spot, status)));
+    }
+
+    public void publishFrom(SpotAllocator allocator) {
+        allocator.addAllocationListener((ticket, vehicle, spot) ->
+                publish(new ParkingEvent.TicketIssued(ticket, vehicle, spot)));
+    }
+
+    public void publishFrom(ExitController exitController) {
+        exitController.addPaymentListener((plateNo, spot, payment, collected) ->
+                publish(new ParkingEvent.PaymentReceived(plateNo, spot.getCategory(),
+                        payment.getMethodName(), payment.getAmount(), collected)));
+    }
+
+    public void publishFrom(LedgerBackedFineService fineService) {
+        fineService.addFineListener((plateNo, amount, reason) ->
+                publish(new ParkingEvent.FineRecorded(plateNo, amount, reason)));
+    }
+
+    // ===== Dispatching =====
+
+    private void dispatchLoop() {
+        while (true) {
+            ParkingEvent event = queue.poll();
+            if (event == null) {
+                if (closed) return;
+                // Say we are going to sleep, then look once more: a publisher either
+                // sees 'idle' and unparks us, or its event is seen by this check
+                idle = true;
+                if (queue.isEmpty() && !closed) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                continue;
+            }
+
+            Object key = event.coalesceKey();
+            if (key != null) {
+                event = latestByKey.remove(key);    // Newest event for this key
+                if (event == null) continue;
+            } else {
+                queued.decrementAndGet();
+            }
+            deliver(event);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(ParkingEvent event) {
+        List<Subscriber<?>> subscribers = subscribersByType.get(event.getClass());
+        if (subscribers == null) return;
+        for (Subscriber<?> subscriber : subscribers) {
+            try {
+                ((Subscriber<ParkingEvent>) subscriber).onEvent(event);
+                delivered.increment();
+            } catch (RuntimeException e) {
+                EventLog.error("Event subscriber failed on " + event.getClass().getSimpleName() + ": " + e);
+            }
+        }
+    }
+
+    // ===== Statistics =====
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * Deliver what is already queued, then stop the bus thread.
+     * Events published after this are ignored.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Stop waiting; the bus thread still finishes on its own
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package observer;
+
+import entity.Money;
+import entity.ParkingSpot;
+import entity.Ticket;
+import entity.Vehicle;
+import enums.SpotCategory;
+import enums.SpotStatus;
+
+/*
+ * ParkingEvent:
+ * - Base class of the typed events carried by the EventBus. Events are immutable.
+ * - An event with a coalescing key replaces an earlier undelivered event with the
+ *   same key, so a slow subscriber sees the latest state instead of a backlog
+ *   (e.g. only the last status of a spot that flipped several times).
+ */
+public abstract class ParkingEvent {
+
+    private final long timeMillis = System.currentTimeMillis();
+
+    // null = never coalesced
+    Object coalesceKey() {
+        return null;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    // A spot became OCCUPIED or AVAILABLE (coalesced per spot)
+    public static final class SpotStatusChanged extends ParkingEvent {
+        private final ParkingSpot spot;
+        private final SpotStatus status;
+
+        public SpotStatusChanged(ParkingSpot spot, SpotStatus status) {
+            this.spot = spot;
+            this.status = status;
+        }
+
+        @Override
+        Object coalesceKey() {
+            return spot;
+        }
+
+        public ParkingSpot getSpot() { return spot; }
+        public SpotStatus getStatus() { return status; }
+    }
+
+    // A ticket was issued at an entry gate
+    public static final class TicketIssued extends ParkingEvent {
+        private final Ticket ticket;
+        private final Vehicle vehicle;
+        private final ParkingSpot spot;
+
+        public TicketIssued(Ticket ticket, Vehicle vehicle, ParkingSpot spot) {
+            this.ticket = ticket;
+            this.vehicle = vehicle;
+            this.spot = spot;
+        }
+
+        public Ticket getTicket() { return ticket; }
+        public Vehicle getVehicle() { return vehicle; }
+        public ParkingSpot getSpot() { return spot; }
+    }
+
+    // A payment was taken at an exit gate; 'collected' is what the lot kept
+    public static final class PaymentReceived extends ParkingEvent {
+        private final String plateNo;
+        private final SpotCategory category;
+        private final String method;
+        private final Money amountPaid;
+        private final Money collected;
+
+        public PaymentReceived(String plateNo, SpotCategory category, String method,
+                               Money amountPaid, Money collected) {
+            this.plateNo = plateNo;
+            this.category = category;
+            this.method = method;
+            this.amountPaid = amountPaid;
+            this.collected = collected;
+        }
+
+        public String getPlateNo() { return plateNo; }
+        public SpotCategory getCategory() { return category; }
+        public String getMethod() { return method; }
+        public Money getAmountPaid() { return amountPaid; }
+        public Money getCollected() { return collected; }
+    }
+
+    // An amount was added to a plate's outstanding balance
+    public static final class FineRecorded extends ParkingEvent {
+        private final String plateNo;
+        private final Money amount;
+        private final String reason;
+
+        public FineRecorded(String plateNo, Money amount, String reason) {
+            this.plateNo = plateNo;
+            this.amount = amount;
+            this.reason = reason;
+        }
+
+        public String getPlateNo() { return plateNo; }
+        public Money getAmount() { return amount; }
+        public String getReason() { return reason; }
+    }
+}
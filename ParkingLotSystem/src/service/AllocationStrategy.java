@@ -0,0 +1,60 @@
+package service;
+
+import entity.ParkingSpot;
+import entity.SpotCompatibility;
+import enums.ConcurrencyMode;
+import enums.SpotCategory;
+
+/*
+ * AllocationStrategy:
+ * - Decides which free spot a vehicle gets. SpotAllocator hands over the vehicle's
+ *   suitable categories (claimSuitable) and issues the ticket for the spot returned;
+ *   by default each category is tried in turn.
+ * - A strategy claims the spot itself (ParkingSpot.tryOccupy, directly or through
+ *   Floor), so parallel gates never get the same spot; in FLOOR_LOCKED mode it
+ *   claims under the chosen floor's lock.
+ * - Implementations: FirstAvailableStrategy (row/spot order, lowest floor first),
+ *   NearestSpotStrategy (closest to the entry gate / elevator),
+ *   LeastLoadedFloorStrategy (emptiest floor first, to spread ramp traffic).
+ */
+public interface AllocationStrategy {
+
+    /**
+     * Claim one free spot of a category for a vehicle.
+     * @return the claimed spot, or null if none of that category is free
+     */
+    ParkingSpot claimSpot(SpotCategory category, String plateNo, ConcurrencyMode mode);
+
+    /**
+     * Claim one free spot in any of the suitable categories for a vehicle.
+     * The default tries the categories in SpotCategory order; override to weigh
+     * them together (see LeastLoadedFloorStrategy).
+     * @param suitable bit mask of accepted categories (see SpotCompatibility)
+     * @return the claimed spot, or null if none of those categories is free
+     */
+    default ParkingSpot claimSuitable(int suitable, String plateNo, ConcurrencyMode mode) {
+        for (int c = 0; c < SpotCompatibility.categoryCount(); c++) {
+            if ((suitable & (1 << c)) == 0) continue;
+            ParkingSpot spot = claimSpot(SpotCompatibility.category(c), plateNo, mode);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Claim spots of a category for several vehicles; plates[i] gets claimed[i].
+     * Stops at the first plate that cannot be placed.
+     * @return number of plates that got a spot
+     */
+    default int claimSpots(SpotCategory category, String[] plates, ParkingSpot[] claimed, ConcurrencyMode mode) {
+        int placed = 0;
+        while (placed < plates.length) {
+            ParkingSpot spot = claimSpot(category, plates[placed], mode);
+            if (spot == null) break;
+            claimed[placed++] = spot;
+        }
+        return placed;
+    }
+}
@@ -1,6 +1,7 @@
 package service;
 
 import entity.Bill;
+import entity.Money;
 import entity.ParkingSession;
 import entity.ParkingSpot;
 import entity.Vehicle;
@@ -41,13 +42,13 @@ public class BillingService {
                           ParkingSpot spot,
                           Vehicle vehicle,
                           LocalDateTime exitTime,
-                          double fineAmount) {
+                          Money fineAmount) {
 
         // 1) Compute billable duration
         long hours = calculateBillableHours(session.getEntryTime(), exitTime);
 
         // 2) Spot decides hourly rate (different categories can have different rates)
-        double hourlyRate = spot.getHourlyRate();
+        Money hourlyRate = spot.getHourlyRate();
 
         // 3) Handicapped rule (based on requirements):
         // - PARKING on HANDICAPPED spot is FREE only if driver is a handicapped card holder.
@@ -55,9 +56,9 @@ public class BillingService {
         boolean isHandicappedSpot = spot.getCategory().name().equals("HANDICAPPED");
         boolean free = vehicle.isHandicappedCardHolder() && isHandicappedSpot;
 
-        double parkingFee = free ? 0.0 : (hours * hourlyRate);
+        Money parkingFee = free ? Money.ZERO : hourlyRate.times(hours);
 
         // 4) Build final bill (parking fee + fines)
-        return new Bill(vehicle.getPlateNo(), spot.getSpotID(), hours, parkingFee, fineAmount);
+        return new Bill(vehicle.getPlateNumber(), spot.getSpotID(), hours, parkingFee, fineAmount);
     }
 }
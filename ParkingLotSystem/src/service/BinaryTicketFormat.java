@@ -0,0 +1,109 @@
+package service;
+
+import entity.SpotIdCodec;
+import entity.Ticket;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/*
+ * BinaryTicketFormat:
+ * - Compact alternative to the CSV ticket line "ticketID,plate,spotID,category,entryTime[,vehicleType]".
+ * - File = 4-byte magic, then a stream of tagged records:
+ *     'D' + u16 length + UTF-8 bytes   -> next dictionary string (ids assigned 0, 1, 2, ...)
+ *     'T' + 24 fixed bytes             -> one ticket:
+ *         int  plateRef     dictionary id of the plate
+ *         int  spotCode     floor/row/spot packed into 31 bits (see spotCode)
+ *         byte category     SpotCategory ordinal
+ *         byte flags        FLAG_DERIVED_ID: ticketID is "T-{plate}-{yyyyMMddHHmmss}"
+ *         short vehicleType  position in VEHICLE_TYPES + 1, or 0 if not recorded (older files)
+ *         long entryMillis  entry time as epoch millis (UTC wall clock)
+ *         int  idRef        dictionary id of the ticketID, or -1 when derived
+ * - Entry time is kept to the millisecond.
+ */
+final class BinaryTicketFormat {
+
+    static final int MAGIC = 0x544B4231;     // "TKB1"
+    static final byte TAG_DICTIONARY = 'D';
+    static final byte TAG_TICKET = 'T';
+    static final int TICKET_BYTES = 24;
+    static final byte FLAG_DERIVED_ID = 1;
+
+    // Vehicle.getVehicleType() values; files store only the position, so only append to this
+    private static final String[] VEHICLE_TYPES = { "Car", "Motorcycle", "SUV", "Handicapped" };
+
+    private static final int FLOOR_BITS = 10;
+    private static final int ROW_BITS = 11;
+    private static final int SPOT_BITS = 10;
+
+    private BinaryTicketFormat() {
+    }
+
+    // Pack an F{floor}-R{row}-S{spot} ID into an int, or -1 if it does not fit
+    static int spotCode(String spotID) {
+        long decoded = SpotIdCodec.decode(spotID);
+        if (decoded == SpotIdCodec.INVALID) return -1;
+        int floor = SpotIdCodec.floorOf(decoded);
+        int row = SpotIdCodec.rowOf(decoded);
+        int spot = SpotIdCodec.spotOf(decoded);
+        if (floor >= (1 << FLOOR_BITS) || row >= (1 << ROW_BITS) || spot >= (1 << SPOT_BITS)) return -1;
+        return (floor << (ROW_BITS + SPOT_BITS)) | (row << SPOT_BITS) | spot;
+    }
+
+    static String spotID(int code) {
+        int floor = code >>> (ROW_BITS + SPOT_BITS);
+        int row = (code >>> SPOT_BITS) & ((1 << ROW_BITS) - 1);
+        int spot = code & ((1 << SPOT_BITS) - 1);
+        return SpotIdCodec.format(floor, row, spot);
+    }
+
+    static short vehicleTypeCode(String vehicleType) {
+        for (int i = 0; i < VEHICLE_TYPES.length; i++) {
+            if (VEHICLE_TYPES[i].equals(vehicleType)) return (short) (i + 1);
+        }
+        return 0;
+    }
+
+    static String vehicleType(short code) {
+        return code > 0 && code <= VEHICLE_TYPES.length ? VEHICLE_TYPES[code - 1] : null;
+    }
+
+    static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    // The ticketID Ticket generates itself ("T-" + plate + "-" + yyyyMMddHHmmss), so it need not be stored.
+    // Built by hand: a DateTimeFormatter here would dominate read time.
+    static String derivedTicketID(String plate, LocalDateTime entryTime) {
+        StringBuilder id = new StringBuilder(plate.length() + 17).append("T-").append(plate).append('-');
+        appendDigits(id, entryTime.getYear(), 4);
+        appendDigits(id, entryTime.getMonthValue(), 2);
+        appendDigits(id, entryTime.getDayOfMonth(), 2);
+        appendDigits(id, entryTime.getHour(), 2);
+        appendDigits(id, entryTime.getMinute(), 2);
+        appendDigits(id, entryTime.getSecond(), 2);
+        return id.toString();
+    }
+
+    static boolean hasDerivedID(Ticket ticket) {
+        String id = ticket.getTicketID();
+        String plate = ticket.getPlateNumber();
+        return id.length() == plate.length() + 17
+                && id.startsWith("T-")
+                && id.startsWith(plate, 2)
+                && id.equals(derivedTicketID(plate, ticket.getEntryTime()));
+    }
+
+    private static void appendDigits(StringBuilder out, int value, int width) {
+        int divisor = 1;
+        for (int i = 1; i < width; i++) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + (value / divisor) % 10));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package service;
+
+import entity.Ticket;
+import enums.SpotCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+ * BinaryTicketReader:
+ * - Reads a BinaryTicketFormat file front to back through a read-only memory mapping.
+ * - Dictionary strings are decoded once; every ticket with the same plate shares
+ *   the same String instance.
+ */
+public class BinaryTicketReader implements AutoCloseable {
+
+    private static final SpotCategory[] CATEGORIES = SpotCategory.values();
+
+    private final FileChannel channel;
+
+    public BinaryTicketReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * Visit every ticket in file order.
+     */
+    public void forEach(Consumer<Ticket> visitor) throws IOException {
+        read(visitor, new ArrayList<>());
+    }
+
+    public List<Ticket> readAll() throws IOException {
+        List<Ticket> tickets = new ArrayList<>();
+        forEach(tickets::add);
+        return tickets;
+    }
+
+    // All dictionary strings, indexed by id (used by the writer to continue a file)
+    String[] readDictionary() throws IOException {
+        List<String> dictionary = new ArrayList<>();
+        read(null, dictionary);
+        return dictionary.toArray(new String[0]);
+    }
+
+    private void read(Consumer<Ticket> visitor, List<String> dictionary) throws IOException {
+        long size = channel.size();
+        if (size == 0) return;
+        MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        if (in.getInt() != BinaryTicketFormat.MAGIC) {
+            throw new IOException("Not a binary ticket file");
+        }
+
+        while (in.hasRemaining()) {
+            byte tag = in.get();
+            if (tag == BinaryTicketFormat.TAG_DICTIONARY) {
+                byte[] bytes = new byte[in.getShort() & 0xFFFF];
+                in.get(bytes);
+                dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+            } else if (tag == BinaryTicketFormat.TAG_TICKET) {
+                if (visitor == null) {
+                    in.position(in.position() + BinaryTicketFormat.TICKET_BYTES);
+                    continue;
+                }
+                visitor.accept(readTicket(in, dictionary));
+            } else {
+                throw new IOException("Corrupt binary ticket file at byte " + (in.position() - 1));
+            }
+        }
+    }
+
+    private static Ticket readTicket(ByteBuffer in, List<String> dictionary) {
+        String plate = dictionary.get(in.getInt());
+        String spotID = BinaryTicketFormat.spotID(in.getInt());
+        SpotCategory category = CATEGORIES[in.get()];
+        byte flags = in.get();
+        String vehicleType = BinaryTicketFormat.vehicleType(in.getShort());
+        LocalDateTime entryTime = BinaryTicketFormat.fromEpochMillis(in.getLong());
+        int idRef = in.getInt();
+
+        String ticketID = (flags & BinaryTicketFormat.FLAG_DERIVED_ID) != 0
+                ? BinaryTicketFormat.derivedTicketID(plate, entryTime)
+                : dictionary.get(idRef);
+        return new Ticket(ticketID, plate, spotID, category, entryTime, vehicleType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,103 @@
+package service;
+
+import entity.Ticket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * BinaryTicketWriter:
+ * - Appends tickets in BinaryTicketFormat through one buffered FileChannel.
+ * - Plates (and any ticketID that cannot be derived) are dictionary-encoded:
+ *   each distinct string is written once and then referenced by id.
+ * - Appending to an existing file continues its dictionary.
+ */
+public class BinaryTicketWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    public BinaryTicketWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        if (channel.size() == 0) {
+            buffer.putInt(BinaryTicketFormat.MAGIC);
+        } else {
+            // Continue the existing dictionary so references stay valid
+            try (BinaryTicketReader reader = new BinaryTicketReader(file)) {
+                String[] known = reader.readDictionary();
+                for (int id = 0; id < known.length; id++) {
+                    dictionary.put(known[id], id);
+                }
+            }
+        }
+    }
+
+    public synchronized void write(Ticket ticket) throws IOException {
+        int spotCode = BinaryTicketFormat.spotCode(ticket.getSpotID());
+        if (spotCode < 0) {
+            throw new IOException("Spot ID cannot be encoded: " + ticket.getSpotID());
+        }
+
+        int plateRef = reference(ticket.getPlateNumber());
+        boolean derived = BinaryTicketFormat.hasDerivedID(ticket);
+        int idRef = derived ? -1 : reference(ticket.getTicketID());
+
+        ensureRoom(1 + BinaryTicketFormat.TICKET_BYTES);
+        buffer.put(BinaryTicketFormat.TAG_TICKET);
+        buffer.putInt(plateRef);
+        buffer.putInt(spotCode);
+        buffer.put((byte) ticket.getSpotCategory().ordinal());
+        buffer.put(derived ? BinaryTicketFormat.FLAG_DERIVED_ID : 0);
+        buffer.putShort(BinaryTicketFormat.vehicleTypeCode(ticket.getVehicleType()));
+        buffer.putLong(BinaryTicketFormat.toEpochMillis(ticket.getEntryTime()));
+        buffer.putInt(idRef);
+    }
+
+    /**
+     * Write buffered records to the file; force them to disk if asked.
+     */
+    public synchronized void flush(boolean force) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        if (force) channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush(true);
+        channel.close();
+    }
+
+    // Dictionary id for a string, writing a 'D' record the first time it is seen
+    private int reference(String value) throws IOException {
+        Integer id = dictionary.get(value);
+        if (id != null) return id;
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) throw new IOException("String too long for ticket dictionary");
+        ensureRoom(1 + 2 + bytes.length);
+        buffer.put(BinaryTicketFormat.TAG_DICTIONARY);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+
+        id = dictionary.size();
+        dictionary.put(value, id);
+        return id;
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush(false);
+    }
+}
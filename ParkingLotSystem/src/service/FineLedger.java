@@ -0,0 +1,44 @@
+package service;
+
+import entity.Money;
+
+import java.util.Map;
+
+/*
+ * FineLedger:
+ * - Unpaid amounts per plate (fines and underpayments), carried to the next exit.
+ * - Implementations must be safe to call from several exit gates at once.
+ */
+public interface FineLedger {
+
+    /**
+     * Add to a plate's outstanding balance (atomic per plate).
+     * @param reason kept for the audit trail, e.g. "UNDERPAY_AT_EXIT"
+     */
+    void addOutstanding(String plateNo, Money amount, String reason);
+
+    Money getOutstanding(String plateNo);
+
+    /**
+     * Remove a plate's outstanding balance (e.g. it was paid in full).
+     */
+    void clearOutstanding(String plateNo);
+
+    /**
+     * Replace several plates' balances at once (bulk exit); zero clears a plate.
+     * @param reason recorded for every new non-zero balance
+     */
+    default void settleAll(Map<String, Money> newBalances, String reason) {
+        for (Map.Entry<String, Money> entry : newBalances.entrySet()) {
+            clearOutstanding(entry.getKey());
+            if (entry.getValue().isPositive()) {
+                addOutstanding(entry.getKey(), entry.getValue(), reason);
+            }
+        }
+    }
+
+    /**
+     * Copy of every non-zero balance, keyed by plate.
+     */
+    Map<String, Money> getAllOutstanding();
+}
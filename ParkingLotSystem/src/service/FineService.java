@@ -1,18 +1,46 @@
 package service;
 
+import entity.Money;
 import entity.ParkingSession;
 import entity.ParkingSpot;
 import entity.Vehicle;
 
+import java.util.Collections;
+import java.util.Map;
+
 public interface FineService {
 
-    double evaluateAndRecord(ParkingSession session, ParkingSpot spot, Vehicle vehicle);
+    Money evaluateAndRecord(ParkingSession session, ParkingSpot spot, Vehicle vehicle);
+
+    // Same total as evaluateAndRecord, but records nothing (used for bill previews)
+    default Money previewFines(ParkingSession session, ParkingSpot spot, Vehicle vehicle) {
+        return getOutstanding(session.getPlateNo());
+    }
 
-    default void recordOutstanding(String plateNo, double amount, String reason) {
+    default void recordOutstanding(String plateNo, Money amount, String reason) {
         // no-op by default (safe for integration)
     }
 
-    default double getOutstanding(String plateNo) {
-        return 0.0;
+    // Called when a plate's outstanding balance has been paid (or re-billed) at exit
+    default void settleOutstanding(String plateNo) {
+        // no-op by default
+    }
+
+    // Bulk version of settleOutstanding + recordOutstanding (see ExitController.exitLotBatch)
+    default void settleAll(Map<String, Money> shortfallByPlate, String reason) {
+        for (Map.Entry<String, Money> entry : shortfallByPlate.entrySet()) {
+            settleOutstanding(entry.getKey());
+            if (entry.getValue().isPositive()) {
+                recordOutstanding(entry.getKey(), entry.getValue(), reason);
+            }
+        }
+    }
+
+    default Money getOutstanding(String plateNo) {
+        return Money.ZERO;
+    }
+
+    default Map<String, Money> getOutstandingFines() {
+        return Collections.emptyMap();
     }
 }
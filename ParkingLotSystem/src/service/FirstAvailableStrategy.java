@@ -0,0 +1,35 @@
+package service;
+
+import entity.ParkingLot;
+import entity.ParkingSpot;
+import enums.ConcurrencyMode;
+import enums.SpotCategory;
+
+/*
+ * FirstAvailableStrategy:
+ * - The original allocation order: lowest floor, then row, then spot.
+ * - Each floor's free-spot index is walked from its lowest free slot, and a
+ *   batch claims all of its spots in one walk per floor.
+ */
+public class FirstAvailableStrategy implements AllocationStrategy {
+
+    private final ParkingLot parkingLot;
+
+    public FirstAvailableStrategy(ParkingLot parkingLot) {
+        this.parkingLot = parkingLot;
+    }
+
+    @Override
+    public ParkingSpot claimSpot(SpotCategory category, String plateNo, ConcurrencyMode mode) {
+        return (mode == ConcurrencyMode.FLOOR_LOCKED)
+                ? parkingLot.claimFirstAvailableSpotLocked(category, plateNo)
+                : parkingLot.claimFirstAvailableSpot(category, plateNo);
+    }
+
+    @Override
+    public int claimSpots(SpotCategory category, String[] plates, ParkingSpot[] claimed, ConcurrencyMode mode) {
+        return (mode == ConcurrencyMode.FLOOR_LOCKED)
+                ? parkingLot.claimAvailableSpotsLocked(category, plates, claimed)
+                : parkingLot.claimAvailableSpots(category, plates, claimed);
+    }
+}
@@ -0,0 +1,44 @@
+package service;
+
+import entity.Money;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * InMemoryFineLedger:
+ * - FineLedger in a ConcurrentHashMap; each update is one atomic compute per plate,
+ *   so concurrent exits for the same plate never lose an amount.
+ * - Nothing is saved (see PersistentFineLedger for that).
+ */
+public class InMemoryFineLedger implements FineLedger {
+
+    private final Map<String, Money> outstandingByPlate = new ConcurrentHashMap<>();
+
+    @Override
+    public void addOutstanding(String plateNo, Money amount, String reason) {
+        outstandingByPlate.compute(plateNo, (plate, current) -> addTo(current, amount));
+    }
+
+    @Override
+    public Money getOutstanding(String plateNo) {
+        return outstandingByPlate.getOrDefault(plateNo, Money.ZERO);
+    }
+
+    @Override
+    public void clearOutstanding(String plateNo) {
+        outstandingByPlate.remove(plateNo);
+    }
+
+    @Override
+    public Map<String, Money> getAllOutstanding() {
+        return new HashMap<>(outstandingByPlate);
+    }
+
+    // New balance after adding 'amount'; a balance that drops to zero (or below) is removed
+    static Money addTo(Money current, Money amount) {
+        Money total = current == null ? amount : current.plus(amount);
+        return total.isPositive() ? total : null;
+    }
+}
@@ -0,0 +1,91 @@
+package service;
+
+import entity.Floor;
+import entity.ParkingLot;
+import entity.ParkingSpot;
+import entity.SpotCompatibility;
+import enums.ConcurrencyMode;
+import enums.SpotCategory;
+
+import java.util.List;
+
+/*
+ * LeastLoadedFloorStrategy:
+ * - Spreads arrivals over the floors instead of filling them one after another,
+ *   so at peak every ramp carries part of the traffic.
+ * - Picks the floor with the lowest occupancy that still has a free spot in any of
+ *   the vehicle's categories, then the first free spot on that floor (category
+ *   order, then row/spot order). The floor is chosen once across all the categories,
+ *   so a car does not fill COMPACT spots on a busy floor while an emptier floor
+ *   has REGULAR ones.
+ * - Reads only the floors' live counters (Floor.getOccupiedCount, getAvailableCount),
+ *   one pass over the floors per vehicle with nothing allocated.
+ */
+public class LeastLoadedFloorStrategy implements AllocationStrategy {
+
+    private final List<Floor> floors;
+
+    public LeastLoadedFloorStrategy(ParkingLot parkingLot) {
+        this.floors = parkingLot.getFloors();
+    }
+
+    @Override
+    public ParkingSpot claimSpot(SpotCategory category, String plateNo, ConcurrencyMode mode) {
+        return claimSuitable(SpotCompatibility.maskOf(category), plateNo, mode);
+    }
+
+    @Override
+    public ParkingSpot claimSuitable(int suitable, String plateNo, ConcurrencyMode mode) {
+        while (true) {
+            Floor floor = leastLoadedFloor(suitable);
+            if (floor == null) {
+                return null;
+            }
+
+            for (int c = 0; c < SpotCompatibility.categoryCount(); c++) {
+                if ((suitable & (1 << c)) == 0) continue;
+                SpotCategory category = SpotCompatibility.category(c);
+                ParkingSpot spot = (mode == ConcurrencyMode.FLOOR_LOCKED)
+                        ? floor.claimFirstAvailableLocked(category, plateNo)
+                        : floor.claimFirstAvailable(category, plateNo);
+                if (spot != null) {
+                    return spot;
+                }
+            }
+            // Other gates emptied that floor meanwhile: look again
+        }
+    }
+
+    /**
+     * Floor with the lowest occupied / total ratio among those with a free spot
+     * in any suitable category (lowest floor on a tie), or null if there is none
+     */
+    private Floor leastLoadedFloor(int suitable) {
+        Floor best = null;
+        long bestOccupied = 0;
+        long bestTotal = 1;
+        for (int i = 0; i < floors.size(); i++) {
+            Floor floor = floors.get(i);
+            if (!hasAvailable(floor, suitable)) continue;
+
+            // occupied / total < bestOccupied / bestTotal, without dividing
+            long occupied = floor.getOccupiedCount();
+            long total = floor.getTotalSpots();
+            if (best == null || occupied * bestTotal < bestOccupied * total) {
+                best = floor;
+                bestOccupied = occupied;
+                bestTotal = total;
+            }
+        }
+        return best;
+    }
+
+    private static boolean hasAvailable(Floor floor, int suitable) {
+        for (int c = 0; c < SpotCompatibility.categoryCount(); c++) {
+            if ((suitable & (1 << c)) != 0 && floor.getAvailableCount(SpotCompatibility.category(c)) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package service;
+
+import entity.Money;
+import entity.ParkingSession;
+import entity.ParkingSpot;
+import entity.Vehicle;
+import logging.EventLog;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * LedgerBackedFineService:
+ * - Carries unpaid amounts between visits through a FineLedger.
+ * - Adds no fines of its own; subclasses add fine rules (see FixedFineService).
+ * - evaluateAndRecord returns everything the plate owes, so the exit bill
+ *   includes fines left unpaid on earlier visits.
+ */
+public class LedgerBackedFineService implements FineService {
+
+    protected final FineLedger ledger;
+    private final List<FineListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Told about every amount added to a plate's outstanding balance
+    public interface FineListener {
+        void fineRecorded(String plateNo, Money amount, String reason);
+    }
+
+    public LedgerBackedFineService(FineLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Override
+    public Money evaluateAndRecord(ParkingSession session, ParkingSpot spot, Vehicle vehicle) {
+        return ledger.getOutstanding(session.getPlateNo());
+    }
+
+    @Override
+    public void recordOutstanding(String plateNo, Money amount, String reason) {
+        ledger.addOutstanding(plateNo, amount, reason);
+        for (FineListener listener : listeners) {
+            listener.fineRecorded(plateNo, amount, reason);
+        }
+        EventLog.info("Fine recorded for " + plateNo + ": " + amount + " (" + reason + ")");
+    }
+
+    @Override
+    public void settleOutstanding(String plateNo) {
+        ledger.clearOutstanding(plateNo);
+    }
+
+    @Override
+    public void settleAll(Map<String, Money> shortfallByPlate, String reason) {
+        ledger.settleAll(shortfallByPlate, reason);
+        for (Map.Entry<String, Money> entry : shortfallByPlate.entrySet()) {
+            if (!entry.getValue().isPositive()) continue;
+            EventLog.info("Fine recorded for " + entry.getKey() + ": " + entry.getValue() + " (" + reason + ")");
+            for (FineListener listener : listeners) {
+                listener.fineRecorded(entry.getKey(), entry.getValue(), reason);
+            }
+        }
+    }
+
+    @Override
+    public Money getOutstanding(String plateNo) {
+        return ledger.getOutstanding(plateNo);
+    }
+
+    @Override
+    public Map<String, Money> getOutstandingFines() {
+        return ledger.getAllOutstanding();
+    }
+
+    public void addFineListener(FineListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeFineListener(FineListener listener) {
+        listeners.remove(listener);
+    }
+
+    public FineLedger getLedger() {
+        return ledger;
+    }
+}
@@ -0,0 +1,89 @@
+package service;
+
+import entity.Floor;
+import entity.ParkingLot;
+import entity.ParkingSpot;
+import enums.ConcurrencyMode;
+import enums.SpotCategory;
+
+import java.util.List;
+
+/*
+ * NearestSpotStrategy:
+ * - Gives each vehicle the free spot closest to the entry gate / elevator, instead
+ *   of the first one in row order, so drivers do not circle a floor looking for it.
+ * - Every floor ranks its spots by distance from the gate once (Floor.rankByDistance)
+ *   and keeps a free-spot bitset per category over those ranks. The nearest free
+ *   spot on a floor is its lowest set bit: no list is built and nothing is sorted
+ *   per vehicle.
+ * - The strategy holds its own ranking of each floor. Floors keep one ranking per
+ *   gate position, so strategies for different gates on the same lot can run side
+ *   by side (e.g. one allocator per entrance) without re-ranking each other.
+ * - Floors are compared by (floors climbed * floorDistance) + distance on the floor,
+ *   one lookup per floor. With the default floorDistance a spot on a lower floor
+ *   always wins, as the ramp is the longest part of the drive.
+ */
+public class NearestSpotStrategy implements AllocationStrategy {
+
+    private final List<Floor> floors;
+    private final Floor.DistanceOrder[] rankings;   // rankings[i] belongs to floors.get(i)
+    private final int floorDistance;
+
+    // Gate at row 1, spot 1 of every floor
+    public NearestSpotStrategy(ParkingLot parkingLot) {
+        this(parkingLot, 1, 1);
+    }
+
+    public NearestSpotStrategy(ParkingLot parkingLot, int gateRow, int gateSpot) {
+        this(parkingLot, gateRow, gateSpot, longestWalk(parkingLot) + 1);
+    }
+
+    /**
+     * @param gateRow row of the entry gate / elevator on each floor (starting from 1)
+     * @param gateSpot spot position of the gate along that row (starting from 1)
+     * @param floorDistance cost of one floor of ramp, in the same steps as Floor.rankByDistance
+     */
+    public NearestSpotStrategy(ParkingLot parkingLot, int gateRow, int gateSpot, int floorDistance) {
+        this.floors = parkingLot.getFloors();
+        this.floorDistance = floorDistance;
+        this.rankings = new Floor.DistanceOrder[floors.size()];
+        for (int i = 0; i < rankings.length; i++) {
+            rankings[i] = floors.get(i).rankByDistance(gateRow, gateSpot);
+        }
+    }
+
+    private static int longestWalk(ParkingLot parkingLot) {
+        int longest = 0;
+        for (Floor floor : parkingLot.getFloors()) {
+            longest = Math.max(longest, floor.getRows() + floor.getSpotsPerRow());
+        }
+        return longest;
+    }
+
+    @Override
+    public ParkingSpot claimSpot(SpotCategory category, String plateNo, ConcurrencyMode mode) {
+        while (true) {
+            int nearestFloor = -1;
+            long nearest = Long.MAX_VALUE;
+            for (int i = 0; i < floors.size(); i++) {
+                int distance = floors.get(i).nearestAvailableDistance(rankings[i], category);
+                if (distance >= 0 && (long) i * floorDistance + distance < nearest) {
+                    nearest = (long) i * floorDistance + distance;
+                    nearestFloor = i;
+                }
+            }
+            if (nearestFloor < 0) {
+                return null;
+            }
+
+            Floor floor = floors.get(nearestFloor);
+            ParkingSpot spot = (mode == ConcurrencyMode.FLOOR_LOCKED)
+                    ? floor.claimNearestLocked(rankings[nearestFloor], category, plateNo)
+                    : floor.claimNearest(rankings[nearestFloor], category, plateNo);
+            if (spot != null) {
+                return spot;
+            }
+            // Other gates emptied that floor meanwhile: look again
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package service;
 
 import entity.Bill;
+import entity.Money;
 import entity.Payment;
 
 import java.time.LocalDateTime;
@@ -14,13 +15,13 @@ public class PaymentService {
     //PaymentMethod interface, defining a strategy for processing payments.
     public interface PaymentMethod {
         String name();
-        Payment pay(Bill bill, double amount);
+        Payment pay(Bill bill, Money amount);
     }
 
     //Cash implementation (simple: accept amount and create Payment entity).
     public static class CashPayment implements PaymentMethod {
         @Override public String name() { return "CASH"; }
-        @Override public Payment pay(Bill bill, double amount) {
+        @Override public Payment pay(Bill bill, Money amount) {
             // In real system, could validate cash received etc.
             return new Payment(amount, name(), LocalDateTime.now());
         }
@@ -29,7 +30,7 @@ public class PaymentService {
     //Card implementation if want to connect to bank gateway).
     public static class CardPayment implements PaymentMethod {
         @Override public String name() { return "CARD"; }
-        @Override public Payment pay(Bill bill, double amount) {
+        @Override public Payment pay(Bill bill, Money amount) {
             // TODO: integrate bank gateway / authorization later if needed
             return new Payment(amount, name(), LocalDateTime.now());
         }
@@ -49,12 +50,17 @@ public class PaymentService {
         methods.put(method.name().toUpperCase(), method);
     }
 
+    // True if takePayment accepts this method name (checked before a batch changes anything)
+    public boolean supports(String methodName) {
+        return methodName != null && methods.containsKey(methodName.toUpperCase());
+    }
+
     /**
      * Main API used by ExitController:
      * - Select method by name
      * - Delegate to strategy
      */
-    public Payment takePayment(Bill bill, String methodName, double amount) {
+    public Payment takePayment(Bill bill, String methodName, Money amount) {
         PaymentMethod method = methods.get(methodName.toUpperCase());
         if (method == null) throw new IllegalArgumentException("Unknown payment method: " + methodName);
         return method.pay(bill, amount);
@@ -0,0 +1,359 @@
+package service;
+
+import entity.Money;
+import logging.EventLog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * PersistentFineLedger:
+ * - FineLedger that survives restarts. Balances live in a ConcurrentHashMap;
+ *   every change is also appended to a write-ahead log through a TicketJournal.
+ * - Files in one directory:
+ *     snapshot.csv         -> every balance at the last snapshot, plus the last WAL it covers
+ *     wal-000001.log, ...  -> "ADD,plate,amount,reason,millis" / "CLEAR,plate,millis" since then
+ *   Amounts are written as exact Ringgit text ("12.50"), so a replay adds up to the same sen.
+ * - Every update holds its plate's lock (one of PLATE_LOCKS stripes), appends the WAL
+ *   record, and only then changes the map. Records for one plate are in the same order
+ *   in the file as in memory, and a record that could not be written changes nothing.
+ *   No WAL write ever runs inside a ConcurrentHashMap update.
+ * - With ASYNC durability (the default) recording a fine never waits for disk;
+ *   the last few milliseconds of records can be lost if the machine crashes.
+ * - On startup: load the snapshot, then replay newer WAL files.
+ */
+public class PersistentFineLedger implements FineLedger, AutoCloseable {
+
+    private static final String SNAPSHOT_FILE = "snapshot.csv";
+    private static final String SNAPSHOT_HEADER = "#covers-wal=";
+    private static final String WAL_PREFIX = "wal-";
+    private static final String WAL_SUFFIX = ".log";
+    private static final String ADD = "ADD";
+    private static final String CLEAR = "CLEAR";
+
+    private static final long DEFAULT_SNAPSHOT_EVERY = 10_000;     // WAL records
+    private static final long SNAPSHOT_CHECK_SECONDS = 60;
+    private static final int PLATE_LOCKS = 64;
+
+    private final Path directory;
+    private final TicketJournal.Durability durability;
+    private final long snapshotEvery;
+    private final Map<String, Money> outstandingByPlate = new ConcurrentHashMap<>();
+
+    // Read lock: update a balance. Write lock: switch to a new WAL and copy the balances.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] plateLocks = new ReentrantLock[PLATE_LOCKS];
+    private final Object snapshotLock = new Object();
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+    private volatile TicketJournal wal;
+    private long walNumber;
+    private final ScheduledExecutorService snapshotter;
+
+    public PersistentFineLedger(Path directory) throws IOException {
+        this(directory, TicketJournal.Durability.ASYNC, DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    /**
+     * @param snapshotEvery take a snapshot (and start a new WAL) after this many records
+     */
+    public PersistentFineLedger(Path directory, TicketJournal.Durability durability, long snapshotEvery) throws IOException {
+        this.directory = directory;
+        this.durability = durability;
+        this.snapshotEvery = snapshotEvery;
+        for (int i = 0; i < PLATE_LOCKS; i++) {
+            plateLocks[i] = new ReentrantLock();
+        }
+
+        Files.createDirectories(directory);
+        long covered = loadSnapshot();
+        long last = covered;
+        for (long number : walNumbers()) {
+            if (number > covered) {
+                replay(walPath(number));
+                last = number;
+            }
+        }
+
+        walNumber = last + 1;
+        wal = new TicketJournal(walPath(walNumber), durability);
+
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fine-ledger-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotter.scheduleWithFixedDelay(this::snapshotIfDue,
+                SNAPSHOT_CHECK_SECONDS, SNAPSHOT_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // ===== FineLedger =====
+
+    @Override
+    public void addOutstanding(String plateNo, Money amount, String reason) {
+        ReentrantLock plateLock = plateLockFor(plateNo);
+        lock.readLock().lock();
+        plateLock.lock();
+        try {
+            if (log(ADD + "," + plateNo + "," + amount.toPlainString() + "," + reason + "," + System.currentTimeMillis(), 1)) {
+                outstandingByPlate.compute(plateNo, (plate, current) -> InMemoryFineLedger.addTo(current, amount));
+            }
+        } finally {
+            plateLock.unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Money getOutstanding(String plateNo) {
+        return outstandingByPlate.getOrDefault(plateNo, Money.ZERO);
+    }
+
+    @Override
+    public void clearOutstanding(String plateNo) {
+        ReentrantLock plateLock = plateLockFor(plateNo);
+        lock.readLock().lock();
+        plateLock.lock();
+        try {
+            if (outstandingByPlate.containsKey(plateNo)
+                    && log(CLEAR + "," + plateNo + "," + System.currentTimeMillis(), 1)) {
+                outstandingByPlate.remove(plateNo);
+            }
+        } finally {
+            plateLock.unlock();
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Money> getAllOutstanding() {
+        return new HashMap<>(outstandingByPlate);
+    }
+
+    /**
+     * Replace several balances with one WAL write. Holds the lock of every plate in
+     * the batch (in stripe order, so two batches cannot deadlock), so no single-plate
+     * update can land in between; the balances change only once the write succeeds.
+     */
+    @Override
+    public void settleAll(Map<String, Money> newBalances, String reason) {
+        boolean[] needed = new boolean[PLATE_LOCKS];
+        for (String plate : newBalances.keySet()) {
+            needed[stripeOf(plate)] = true;
+        }
+
+        lock.readLock().lock();
+        for (int i = 0; i < PLATE_LOCKS; i++) {
+            if (needed[i]) plateLocks[i].lock();
+        }
+        try {
+            StringBuilder records = new StringBuilder();
+            int count = 0;
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Money> entry : newBalances.entrySet()) {
+                String plate = entry.getKey();
+                Money balance = entry.getValue();
+                if (outstandingByPlate.containsKey(plate)) {
+                    if (count++ > 0) records.append('\n');
+                    records.append(CLEAR).append(',').append(plate).append(',').append(now);
+                }
+                if (balance.isPositive()) {
+                    if (count++ > 0) records.append('\n');
+                    records.append(ADD).append(',').append(plate).append(',').append(balance.toPlainString())
+                            .append(',').append(reason).append(',').append(now);
+                }
+            }
+            if (count == 0 || !log(records.toString(), count)) {
+                return;
+            }
+            for (Map.Entry<String, Money> entry : newBalances.entrySet()) {
+                if (entry.getValue().isPositive()) {
+                    outstandingByPlate.put(entry.getKey(), entry.getValue());
+                } else {
+                    outstandingByPlate.remove(entry.getKey());
+                }
+            }
+        } finally {
+            for (int i = PLATE_LOCKS - 1; i >= 0; i--) {
+                if (needed[i]) plateLocks[i].unlock();
+            }
+            lock.readLock().unlock();
+        }
+    }
+
+    // Append WAL records; false (balances left unchanged) if they could not be written
+    private boolean log(String records, int count) {
+        try {
+            wal.append(records);
+            recordsSinceSnapshot.addAndGet(count);
+            return true;
+        } catch (IOException e) {
+            EventLog.error("Error writing fine ledger - balance not changed: " + e);
+            return false;
+        }
+    }
+
+    private int stripeOf(String plateNo) {
+        return (plateNo.hashCode() & 0x7fffffff) % PLATE_LOCKS;
+    }
+
+    private ReentrantLock plateLockFor(String plateNo) {
+        return plateLocks[stripeOf(plateNo)];
+    }
+
+    // ===== Snapshots =====
+
+    private void snapshotIfDue() {
+        if (recordsSinceSnapshot.get() < snapshotEvery) return;
+        try {
+            snapshot();
+        } catch (IOException e) {
+            EventLog.error("Error writing fine ledger snapshot: " + e);
+        }
+    }
+
+    /**
+     * Write every balance to a new snapshot and delete the WAL files it covers.
+     * Updates only wait while the balances are copied, not while the file is written.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            Map<String, Money> copy;
+            TicketJournal covered;
+            long coveredNumber;
+            lock.writeLock().lock();
+            try {
+                copy = new HashMap<>(outstandingByPlate);
+                covered = wal;
+                coveredNumber = walNumber;
+                walNumber++;
+                wal = new TicketJournal(walPath(walNumber), durability);
+                recordsSinceSnapshot.set(0);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            covered.close();
+
+            Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                StringBuilder text = new StringBuilder(SNAPSHOT_HEADER).append(coveredNumber).append('\n');
+                for (Map.Entry<String, Money> entry : copy.entrySet()) {
+                    text.append(entry.getKey()).append(',').append(entry.getValue().toPlainString()).append('\n');
+                }
+                out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(tmp, directory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            for (long number : walNumbers()) {
+                if (number <= coveredNumber) Files.deleteIfExists(walPath(number));
+            }
+        }
+    }
+
+    // ===== Recovery =====
+
+    // Load snapshot.csv into the map; returns the last WAL number it covers (0 if none)
+    private long loadSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) return 0;
+
+        long covered = 0;
+        for (String line : completeLines(file)) {
+            if (line.startsWith(SNAPSHOT_HEADER)) {
+                covered = Long.parseLong(line.substring(SNAPSHOT_HEADER.length()));
+                continue;
+            }
+            int comma = line.lastIndexOf(',');
+            if (comma <= 0) continue;
+            outstandingByPlate.put(line.substring(0, comma), Money.parse(line.substring(comma + 1)));
+        }
+        return covered;
+    }
+
+    private void replay(Path walFile) throws IOException {
+        for (String line : completeLines(walFile)) {
+            String[] parts = line.split(",", 4);
+            try {
+                if (parts[0].equals(ADD) && parts.length >= 3) {
+                    Money amount = Money.parse(parts[2]);
+                    outstandingByPlate.compute(parts[1], (plate, current) -> InMemoryFineLedger.addTo(current, amount));
+                } else if (parts[0].equals(CLEAR) && parts.length >= 2) {
+                    outstandingByPlate.remove(parts[1]);
+                }
+            } catch (NumberFormatException e) {
+                EventLog.warn("Skipping bad fine ledger record: " + line);
+            }
+        }
+    }
+
+    // Lines that end with a newline; a record cut off by a crash is ignored
+    private static List<String> completeLines(Path file) throws IOException {
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int end = text.indexOf('\n'); end >= 0; end = text.indexOf('\n', start)) {
+            if (end > start) lines.add(text.substring(start, end));
+            start = end + 1;
+        }
+        return lines;
+    }
+
+    // ===== Files =====
+
+    private Path walPath(long number) {
+        return directory.resolve(WAL_PREFIX + String.format("%06d", number) + WAL_SUFFIX);
+    }
+
+    private List<Long> walNumbers() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, WAL_PREFIX + "*" + WAL_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(WAL_PREFIX.length(), name.length() - WAL_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours - ignore
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    /**
+     * Flush the WAL to disk and stop the snapshot thread.
+     */
+    @Override
+    public void close() throws IOException {
+        snapshotter.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            wal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package service;
+
+import entity.Money;
+import enums.SpotCategory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * RevenueAccumulator:
+ * - Running revenue totals, updated once per payment at the exit gate.
+ * - Every counter is a LongAdder of sen, so several exit gates can record at once
+ *   without contending on one field, and the totals are exact.
+ * - Kept per SpotCategory, per payment method, and in two rings of time buckets
+ *   (per minute for the last hour, per hour for the last two days by default).
+ * - Readers (admin dashboard) only sum the counters; nothing is recomputed from sessions.
+ */
+public class RevenueAccumulator {
+
+    private static final int DEFAULT_MINUTES_KEPT = 60;
+    private static final int DEFAULT_HOURS_KEPT = 48;
+
+    private final LongAdder totalSen = new LongAdder();
+    private final LongAdder payments = new LongAdder();
+    private final LongAdder[] senByCategory = new LongAdder[SpotCategory.values().length];
+    private final Map<String, LongAdder> senByMethod = new ConcurrentHashMap<>();
+    private final TimeBuckets minutes;
+    private final TimeBuckets hours;
+
+    public RevenueAccumulator() {
+        this(DEFAULT_MINUTES_KEPT, DEFAULT_HOURS_KEPT);
+    }
+
+    public RevenueAccumulator(int minutesKept, int hoursKept) {
+        for (int i = 0; i < senByCategory.length; i++) {
+            senByCategory[i] = new LongAdder();
+        }
+        minutes = new TimeBuckets(TimeUnit.MINUTES.toMillis(1), minutesKept);
+        hours = new TimeBuckets(TimeUnit.HOURS.toMillis(1), hoursKept);
+    }
+
+    /**
+     * Record money collected for one exit.
+     * @param category category of the spot the vehicle used
+     * @param method payment method name, e.g. "CASH"
+     */
+    public void record(SpotCategory category, String method, Money collected) {
+        record(category, method, collected, System.currentTimeMillis());
+    }
+
+    public void record(SpotCategory category, String method, Money collected, long timeMillis) {
+        long sen = collected.getSen();
+        totalSen.add(sen);
+        payments.increment();
+        senByCategory[category.ordinal()].add(sen);
+        methodCounter(method).add(sen);
+        minutes.add(timeMillis, sen);
+        hours.add(timeMillis, sen);
+    }
+
+    private LongAdder methodCounter(String method) {
+        LongAdder counter = senByMethod.get(method);
+        return counter != null ? counter : senByMethod.computeIfAbsent(method, m -> new LongAdder());
+    }
+
+    // ===== Aggregates =====
+
+    public Money getTotal() {
+        return Money.ofSen(totalSen.sum());
+    }
+
+    public long getPaymentCount() {
+        return payments.sum();
+    }
+
+    public Money getTotal(SpotCategory category) {
+        return Money.ofSen(senByCategory[category.ordinal()].sum());
+    }
+
+    public Map<SpotCategory, Money> getTotalsByCategory() {
+        Map<SpotCategory, Money> totals = new EnumMap<>(SpotCategory.class);
+        for (SpotCategory category : SpotCategory.values()) {
+            totals.put(category, getTotal(category));
+        }
+        return totals;
+    }
+
+    public Map<String, Money> getTotalsByMethod() {
+        Map<String, Money> totals = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : senByMethod.entrySet()) {
+            totals.put(entry.getKey(), Money.ofSen(entry.getValue().sum()));
+        }
+        return totals;
+    }
+
+    /**
+     * Revenue per minute for the kept minutes up to now, oldest first.
+     */
+    public Money[] getRevenueByMinute() {
+        return minutes.series(System.currentTimeMillis());
+    }
+
+    /**
+     * Revenue per hour for the kept hours up to now, oldest first.
+     */
+    public Money[] getRevenueByHour() {
+        return hours.series(System.currentTimeMillis());
+    }
+
+    // Exposed with an explicit clock for the simulator and tests
+    public Money[] getRevenueByMinute(long nowMillis) {
+        return minutes.series(nowMillis);
+    }
+
+    public Money[] getRevenueByHour(long nowMillis) {
+        return hours.series(nowMillis);
+    }
+
+    /*
+     * Ring of fixed-width time buckets. Slot i holds the bucket whose number
+     * (time / width) maps to i. Each bucket carries its own number, and a new lap
+     * swaps in a fresh bucket instead of resetting the old counter, so an amount is
+     * only ever added to the bucket it was checked against. A payment racing the
+     * rollover lands in the bucket that just left the ring, never in the new one.
+     */
+    private static final class TimeBuckets {
+        private static final class Bucket {
+            final long number;
+            final LongAdder sen = new LongAdder();
+
+            Bucket(long number) {
+                this.number = number;
+            }
+        }
+
+        private final long widthMillis;
+        private final AtomicReferenceArray<Bucket> slots;
+
+        TimeBuckets(long widthMillis, int size) {
+            this.widthMillis = widthMillis;
+            this.slots = new AtomicReferenceArray<>(size);
+            for (int i = 0; i < size; i++) {
+                slots.set(i, new Bucket(-1));
+            }
+        }
+
+        void add(long timeMillis, long amount) {
+            long number = timeMillis / widthMillis;
+            int slot = (int) (number % slots.length());
+            Bucket bucket = slots.get(slot);
+            while (bucket.number != number) {
+                if (bucket.number > number) return;  // Older than the ring keeps
+                // Once per bucket: the first payment in a new minute/hour swaps in a fresh one
+                Bucket fresh = new Bucket(number);
+                if (slots.compareAndSet(slot, bucket, fresh)) {
+                    bucket = fresh;
+                } else {
+                    bucket = slots.get(slot);
+                }
+            }
+            bucket.sen.add(amount);
+        }
+
+        Money[] series(long nowMillis) {
+            long newest = nowMillis / widthMillis;
+            Money[] series = new Money[slots.length()];
+            for (int i = 0; i < series.length; i++) {
+                long number = newest - (series.length - 1 - i);
+                Bucket bucket = number >= 0 ? slots.get((int) (number % series.length)) : null;
+                series[i] = bucket != null && bucket.number == number
+                        ? Money.ofSen(bucket.sen.sum()) : Money.ZERO;
+            }
+            return series;
+        }
+    }
+}
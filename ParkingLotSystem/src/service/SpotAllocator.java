@@ -1,131 +1,308 @@
-package service;
-
-import entity.*;
-import enums.SpotCategory;
-import enums.SpotStatus;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Service class responsible for allocating parking spots to vehicles
- * Refactored to use OOP (polymorphism)
- */
-public class SpotAllocator {
-    private ParkingLot parkingLot;
-
-    // Constructor
-    public SpotAllocator(ParkingLot lot) {
-        this.parkingLot = lot;
-    }
-
-    /**
-     * Find suitable available spots for a given Vehicle
-     * Uses polymorphism instead of String
-     */
-    public List<ParkingSpot> findSuitableSpots(Vehicle vehicle) {
-        List<SpotCategory> suitableCategories = getSuitableCategories(vehicle);
-
-        List<ParkingSpot> allSuitableSpots = new ArrayList<>();
-
-        for (SpotCategory category : suitableCategories) {
-            List<ParkingSpot> spotsOfCategory = parkingLot.findAvailableSpots(category);
-            allSuitableSpots.addAll(spotsOfCategory);
-        }
-
-        return allSuitableSpots;
-    }
-
-    /**
-     * Determine suitable categories using Vehicle object (OOP)
-     */
-    private List<SpotCategory> getSuitableCategories(Vehicle vehicle) {
-    List<SpotCategory> suitable = new ArrayList<>();
-    
-    if (vehicle.isHandicappedCardHolder()) {
-        suitable.add(SpotCategory.COMPACT);
-        suitable.add(SpotCategory.REGULAR);
-        suitable.add(SpotCategory.HANDICAPPED);
-        suitable.add(SpotCategory.RESERVED);
-        return suitable;
-    }
-
-    if (vehicle instanceof Motorcycle) {
-        suitable.add(SpotCategory.COMPACT);
-
-    } else if (vehicle instanceof Car) {
-        suitable.add(SpotCategory.COMPACT);
-        suitable.add(SpotCategory.REGULAR);
-
-    } else if (vehicle instanceof SUV) {
-        suitable.add(SpotCategory.REGULAR);
-
-    } else {
-        System.out.println("Unknown vehicle type: " + vehicle.getVehicleType());
-    }
-
-    return suitable;
-}
-    // Allocated Spot and create ticket
-
-    public Ticket allocateSpot(Vehicle vehicle) {
-    List<ParkingSpot> suitableSpots = findSuitableSpots(vehicle);
-
-    if (suitableSpots.isEmpty()) {
-        System.out.println("No available spot for " + vehicle.getPlateNumber());
-        return null;
-    }
-
-    ParkingSpot spot = suitableSpots.get(0);
-
-    if (spot.getStatus() == SpotStatus.OCCUPIED) {
-        System.out.println("Error: Spot already occupied!");
-        return null;
-    }
-
-    spot.occupy(vehicle.getPlateNumber());
-
-    Ticket ticket = new Ticket(vehicle.getPlateNumber(),spot.getSpotID(),spot.getCategory());
-
-    TicketFileService.saveTicket(ticket);
-
-    System.out.println("Allocated " + spot.getSpotID() + " (" + spot.getCategory() + ")" + " to " + vehicle.getPlateNumber());
-
-    System.out.println("Ticket Generated: " + ticket.getTicketID());
-
-    return ticket;
-}
-    // Release Spot
-
-    public boolean releaseSpot(String spotID) {
-        ParkingSpot spot = parkingLot.getSpotByID(spotID);
-
-        if (spot == null) {
-            System.out.println("Error: Spot " + spotID + " not found!");
-            return false;
-        }
-
-        spot.release();
-        return true;
-    }
-
-
-    // Display available spots for a Vehicle
-
-    public void displayAvailableSpots(Vehicle vehicle) {
-        List<ParkingSpot> available = findSuitableSpots(vehicle);
-
-        System.out.println("\n=== Available Spots for " + vehicle.getVehicleType().toUpperCase() + " ===");
-
-        if (available.isEmpty()) {
-            System.out.println("No available spots found!");
-        } else {
-            System.out.println("Found " + available.size() + " available spots:");
-            for (int i = 0; i < Math.min(10, available.size()); i++) {
-                System.out.println((i + 1) + ". " + available.get(i).getSpotInfo());
-            }
-            if (available.size() > 10) {
-                System.out.println("... and " + (available.size() - 10) + " more");
-            }
-        }
-    }
-}
+package service;
+
+import entity.*;
+import enums.ConcurrencyMode;
+import enums.LogLevel;
+import enums.SpotCategory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import logging.EventLog;
+
+/**
+ * Service class responsible for allocating parking spots to vehicles
+ * Refactored to use OOP (polymorphism)
+ */
+public class SpotAllocator {
+    private ParkingLot parkingLot;
+    private ConcurrencyMode mode;
+    private volatile AllocationStrategy strategy;
+    private final List<AllocationListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Told about every ticket issued (e.g. to record the parking session for exit)
+    public interface AllocationListener {
+        void ticketIssued(Ticket ticket, Vehicle vehicle, ParkingSpot spot);
+    }
+
+    // Constructor
+    public SpotAllocator(ParkingLot lot) {
+        this(lot, ConcurrencyMode.LOCK_FREE);
+    }
+
+    public SpotAllocator(ParkingLot lot, ConcurrencyMode mode) {
+        this(lot, mode, new FirstAvailableStrategy(lot));
+    }
+
+    public SpotAllocator(ParkingLot lot, ConcurrencyMode mode, AllocationStrategy strategy) {
+        this.parkingLot = lot;
+        this.mode = mode;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Find suitable available spots for a given Vehicle
+     * Uses polymorphism instead of String
+     */
+    public List<ParkingSpot> findSuitableSpots(Vehicle vehicle) {
+        List<SpotCategory> suitableCategories = getSuitableCategories(vehicle);
+
+        List<ParkingSpot> allSuitableSpots = new ArrayList<>();
+
+        for (SpotCategory category : suitableCategories) {
+            List<ParkingSpot> spotsOfCategory = parkingLot.findAvailableSpots(category);
+            allSuitableSpots.addAll(spotsOfCategory);
+        }
+
+        return allSuitableSpots;
+    }
+
+    /**
+     * Claim a suitable available spot for a Vehicle
+     * The strategy picks the spot among the vehicle's categories; each candidate is
+     * claimed by compare-and-set, so parallel gates never get the same spot
+     */
+    private ParkingSpot claimSuitableSpot(Vehicle vehicle) {
+        return strategy.claimSuitable(suitableMask(vehicle), vehicle.getPlateNumber(), mode);
+    }
+
+    /**
+     * Determine suitable categories using Vehicle object (OOP)
+     * Looked up in the SpotCompatibility table, built once per vehicle class
+     */
+    private List<SpotCategory> getSuitableCategories(Vehicle vehicle) {
+        int suitable = suitableMask(vehicle);
+        List<SpotCategory> categories = new ArrayList<>();
+        for (SpotCategory category : SpotCategory.values()) {
+            if (SpotCompatibility.allows(suitable, category)) {
+                categories.add(category);
+            }
+        }
+        return categories;
+    }
+
+    private static int suitableMask(Vehicle vehicle) {
+        int suitable = vehicle.getSuitableSpotMask();
+        if (suitable == SpotCompatibility.NONE) {
+            EventLog.warn("Unknown vehicle type: " + vehicle.getVehicleType());
+        }
+        return suitable;
+    }
+    // Allocated Spot and create ticket
+
+    public Ticket allocateSpot(Vehicle vehicle) {
+    // Claim is atomic: a gate that loses a spot to another gate retries on the next candidate
+    ParkingSpot spot = claimSuitableSpot(vehicle);
+
+    if (spot == null) {
+        EventLog.info("No available spot for " + vehicle.getPlateNumber());
+        return null;
+    }
+
+    Ticket ticket = new Ticket(vehicle.getPlateNumber(),spot.getSpotID(),spot.getCategory(),vehicle.getVehicleType());
+
+    TicketFileService.saveTicket(ticket);
+
+    for (AllocationListener listener : listeners) {
+        listener.ticketIssued(ticket, vehicle, spot);
+    }
+
+    if (EventLog.isEnabled(LogLevel.INFO)) {
+        EventLog.info("Allocated " + spot.getSpotID() + " (" + spot.getCategory() + ")" + " to " + vehicle.getPlateNumber());
+
+        EventLog.info("Ticket Generated: " + ticket.getTicketID());
+    }
+
+    return ticket;
+}
+    // Allocate spots for a group of vehicles
+
+    public List<Ticket> allocateBatch(List<Vehicle> vehicles) {
+        return allocateBatch(vehicles, false);
+    }
+
+    /**
+     * Allocate spots for several vehicles at once (convoys, event traffic)
+     * Each floor is walked once per category for the whole group, and all tickets
+     * are saved with one journal write instead of one write per vehicle
+     * @param keepTogether first try to park the whole group on neighbouring spots of one floor
+     * @return tickets in the same order as the vehicles; null where no spot was free
+     */
+    public List<Ticket> allocateBatch(List<Vehicle> vehicles, boolean keepTogether) {
+        int count = vehicles.size();
+        int[] suitable = new int[count];    // SpotCompatibility mask per vehicle
+        List<Integer> order = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suitable[i] = suitableMask(vehicles.get(i));
+            order.add(i);
+        }
+        // Fewest options first, so a car never takes the compact spot a motorcycle needed
+        order.sort(Comparator.comparingInt(i -> Integer.bitCount(suitable[i])));
+
+        ParkingSpot[] claimed = new ParkingSpot[count];
+        if (!keepTogether || count < 2 || !claimAdjacent(vehicles, order, suitable, claimed)) {
+            claimByCategory(strategy, vehicles, order, suitable, claimed);
+        }
+
+        List<Ticket> tickets = new ArrayList<>(count);
+        List<Ticket> issued = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ParkingSpot spot = claimed[i];
+            if (spot == null) {
+                EventLog.info("No available spot for " + vehicles.get(i).getPlateNumber());
+                tickets.add(null);
+                continue;
+            }
+            Ticket ticket = new Ticket(vehicles.get(i).getPlateNumber(), spot.getSpotID(), spot.getCategory(),
+                    vehicles.get(i).getVehicleType());
+            tickets.add(ticket);
+            issued.add(ticket);
+        }
+
+        TicketFileService.saveTickets(issued);
+
+        for (int i = 0; i < count; i++) {
+            Ticket ticket = tickets.get(i);
+            if (ticket == null) continue;
+            for (AllocationListener listener : listeners) {
+                listener.ticketIssued(ticket, vehicles.get(i), claimed[i]);
+            }
+            if (EventLog.isEnabled(LogLevel.INFO)) {
+                EventLog.info("Allocated " + claimed[i].getSpotID() + " (" + claimed[i].getCategory() + ")" + " to " + ticket.getPlateNumber());
+                EventLog.info("Ticket Generated: " + ticket.getTicketID());
+            }
+        }
+
+        return tickets;
+    }
+
+    // One claim pass per category for every vehicle still waiting that accepts it
+    // The strategy is read once by the caller, so a setStrategy mid-batch cannot mix two
+    private void claimByCategory(AllocationStrategy current, List<Vehicle> vehicles, List<Integer> order,
+                                 int[] suitable, ParkingSpot[] claimed) {
+        for (SpotCategory category : SpotCategory.values()) {
+            int bit = 1 << category.ordinal();
+            List<Integer> waiting = new ArrayList<>();
+            for (int i : order) {
+                if (claimed[i] == null && (suitable[i] & bit) != 0) {
+                    waiting.add(i);
+                }
+            }
+            if (waiting.isEmpty() || parkingLot.getAvailableCount(category) == 0) {
+                continue;
+            }
+
+            String[] plates = new String[waiting.size()];
+            for (int k = 0; k < plates.length; k++) {
+                plates[k] = vehicles.get(waiting.get(k)).getPlateNumber();
+            }
+            ParkingSpot[] spots = new ParkingSpot[plates.length];
+            int placed = current.claimSpots(category, plates, spots, mode);
+            for (int k = 0; k < placed; k++) {
+                claimed[waiting.get(k)] = spots[k];
+            }
+        }
+    }
+
+    // Whole group on neighbouring spots of one floor, or nothing
+    private boolean claimAdjacent(List<Vehicle> vehicles, List<Integer> order, int[] suitable, ParkingSpot[] claimed) {
+        int[] groupSuitable = new int[order.size()];
+        String[] plates = new String[order.size()];
+        for (int k = 0; k < plates.length; k++) {
+            groupSuitable[k] = suitable[order.get(k)];
+            plates[k] = vehicles.get(order.get(k)).getPlateNumber();
+        }
+        ParkingSpot[] spots = new ParkingSpot[plates.length];
+        if (!parkingLot.claimAdjacentSpots(groupSuitable, plates, spots, mode == ConcurrencyMode.FLOOR_LOCKED)) {
+            return false;
+        }
+        for (int k = 0; k < spots.length; k++) {
+            claimed[order.get(k)] = spots[k];
+        }
+        return true;
+    }
+
+    // Release Spot
+
+    public boolean releaseSpot(String spotID) {
+        ParkingSpot spot = parkingLot.getSpotByID(spotID);
+
+        if (spot == null) {
+            EventLog.warn("Error: Spot " + spotID + " not found!");
+            return false;
+        }
+
+        release(spot);
+        return true;
+    }
+
+    // Release Spot by handle (no spot ID parsing)
+
+    public boolean releaseSpot(int spotHandle) {
+        ParkingSpot spot = parkingLot.getSpotByHandle(spotHandle);
+
+        if (spot == null) {
+            EventLog.warn("Error: Spot handle " + spotHandle + " not found!");
+            return false;
+        }
+
+        release(spot);
+        return true;
+    }
+
+    private void release(ParkingSpot spot) {
+        if (mode == ConcurrencyMode.FLOOR_LOCKED) {
+            if (parkingLot.releaseSpotLocked(spot)) {
+                if (EventLog.isEnabled(LogLevel.DEBUG)) {
+                    EventLog.debug("Spot " + spot.getSpotID() + " released and now available");
+                }
+            } else {
+                EventLog.warn("Spot " + spot.getSpotID() + " is already available");
+            }
+        } else {
+            spot.release();
+        }
+    }
+
+    public void addAllocationListener(AllocationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeAllocationListener(AllocationListener listener) {
+        listeners.remove(listener);
+    }
+
+    public ConcurrencyMode getMode() {
+        return mode;
+    }
+
+    public AllocationStrategy getStrategy() {
+        return strategy;
+    }
+
+    // Switch how spots are picked (e.g. at peak hours); takes effect for the next vehicle
+    public void setStrategy(AllocationStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+
+    // Display available spots for a Vehicle
+
+    public void displayAvailableSpots(Vehicle vehicle) {
+        List<ParkingSpot> available = findSuitableSpots(vehicle);
+
+        System.out.println("\n=== Available Spots for " + vehicle.getVehicleType().toUpperCase() + " ===");
+
+        if (available.isEmpty()) {
+            System.out.println("No available spots found!");
+        } else {
+            System.out.println("Found " + available.size() + " available spots:");
+            for (int i = 0; i < Math.min(10, available.size()); i++) {
+                System.out.println((i + 1) + ". " + available.get(i).getSpotInfo());
+            }
+            if (available.size() > 10) {
+                System.out.println("... and " + (available.size() - 10) + " more");
+            }
+        }
+    }
+}
@@ -1,66 +1,219 @@
-package service;
-
-import entity.Ticket;
-import enums.SpotCategory;
-import java.io.*;
-import java.time.LocalDateTime;
-
-public class TicketFileService {
-
-    private static final String FILE_NAME = "tickets.txt";
-
-    // Save a ticket to file (append mode)
-    public static void saveTicket(Ticket ticket) {
-        try (FileWriter fw = new FileWriter(FILE_NAME, true)) {
-
-            String line =
-                    ticket.getTicketID() + "," +
-                    ticket.getPlateNumber() + "," +
-                    ticket.getSpotID() + "," +
-                    ticket.getSpotCategory() + "," +
-                    ticket.getEntryTime();
-
-            fw.write(line + "\n");
-
-        } catch (IOException e) {
-            System.out.println("Error saving ticket to file");
-            e.printStackTrace();
-        }
-    }
-
-    // Find a ticket by its ID
-    public static Ticket findTicketByID(String searchID) {
-
-        try (BufferedReader br = new BufferedReader(new FileReader(FILE_NAME))) {
-
-            String line;
-
-            while ((line = br.readLine()) != null) {
-
-                String[] parts = line.split(",");
-
-                if (parts.length < 5) continue;
-
-                String ticketID = parts[0];
-
-                if (ticketID.equals(searchID)) {
-
-                    String plate = parts[1];
-                    String spotID = parts[2];
-                    SpotCategory category = SpotCategory.valueOf(parts[3]);
-                    LocalDateTime entryTime = LocalDateTime.parse(parts[4]);
-
-                    return new Ticket(ticketID, plate, spotID, category, entryTime);
-                }
-            }
-
-        } catch (FileNotFoundException e) {
-            System.out.println("Ticket file not found.");
-        } catch (IOException e) {
-            System.out.println("Error reading ticket file.");
-            e.printStackTrace();
-        }
-
-        return null;
-    }
-}
+package service;
+
+import entity.ParkingLot;
+import entity.Ticket;
+import enums.SpotCategory;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import logging.EventLog;
+
+public class TicketFileService {
+
+    private static final String FILE_NAME = "tickets.txt";        // Old single-file log, migrated on first use
+    private static final String DIRECTORY = "tickets";            // Segments + snapshot (see TicketLog)
+    private static final long MAX_SEGMENT_BYTES = 16L * 1024 * 1024;
+    private static final long COMPACTION_INTERVAL_MINUTES = 10;
+
+    // Long-lived segmented log: opened once, closed on shutdown (see TicketLog, TicketJournal)
+    private static volatile TicketLog log;
+    private static boolean shutdownHookInstalled;
+    private static TicketJournal.Durability durability = TicketJournal.Durability.GROUP_COMMIT;
+
+    // Choose how durable saveTicket is: SYNC, GROUP_COMMIT (default) or ASYNC
+    public static synchronized void setDurability(TicketJournal.Durability newDurability) {
+        if (newDurability == durability) return;
+        closeJournal();
+        durability = newDurability;
+    }
+
+    public static synchronized TicketJournal.Durability getDurability() {
+        return durability;
+    }
+
+    private static TicketLog log() throws IOException {
+        TicketLog current = log;
+        if (current != null) return current;
+
+        synchronized (TicketFileService.class) {
+            if (log == null) {
+                TicketLog.importLegacyFile(Paths.get(FILE_NAME), Paths.get(DIRECTORY));
+                TicketLog opened = new TicketLog(Paths.get(DIRECTORY), durability, MAX_SEGMENT_BYTES);
+                opened.startCompactor(COMPACTION_INTERVAL_MINUTES);
+                log = opened;
+                if (!shutdownHookInstalled) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(TicketFileService::closeJournal));
+                    shutdownHookInstalled = true;
+                }
+            }
+            return log;
+        }
+    }
+
+    // Flush and close the log (it is reopened on the next save)
+    public static synchronized void closeJournal() {
+        if (log == null) return;
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.out.println("Error closing ticket journal");
+            e.printStackTrace();
+        }
+        log = null;
+    }
+
+    // Make sure every saved ticket is on disk (needed before reading in ASYNC mode)
+    public static void flush() {
+        try {
+            TicketLog current = log;
+            if (current != null) current.flush();
+        } catch (IOException e) {
+            System.out.println("Error flushing ticket journal");
+            e.printStackTrace();
+        }
+    }
+
+    // Mark a ticket's session as ended so compaction can drop it
+    public static void closeTicket(String ticketID) {
+        try {
+            log().close(ticketID);
+        } catch (IOException e) {
+            System.out.println("Error closing ticket " + ticketID);
+            e.printStackTrace();
+        }
+    }
+
+    // Close many tickets at once (bulk exit) with a single journal write
+    public static void closeTickets(Collection<String> ticketIDs) {
+        try {
+            log().closeAll(ticketIDs);
+        } catch (IOException e) {
+            System.out.println("Error closing " + ticketIDs.size() + " tickets");
+            e.printStackTrace();
+        }
+    }
+
+    // Fold rolled segments into the snapshot now (also runs in the background)
+    public static int compact() {
+        try {
+            return log().compact();
+        } catch (IOException e) {
+            System.out.println("Error compacting ticket log");
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    // Save a ticket to file (appended through the journal)
+    public static void saveTicket(Ticket ticket) {
+        try {
+
+            log().append(ticket.getTicketID(), toLine(ticket));
+
+        } catch (IOException e) {
+            System.out.println("Error saving ticket to file");
+            e.printStackTrace();
+        }
+    }
+
+    // Save several tickets with one journal write (one fsync in SYNC mode)
+    public static void saveTickets(List<Ticket> tickets) {
+        if (tickets.isEmpty()) return;
+        List<String> ticketIDs = new ArrayList<>(tickets.size());
+        List<String> lines = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            ticketIDs.add(ticket.getTicketID());
+            lines.add(toLine(ticket));
+        }
+        try {
+            log().appendAll(ticketIDs, lines);
+        } catch (IOException e) {
+            System.out.println("Error saving " + tickets.size() + " tickets to file");
+            e.printStackTrace();
+        }
+    }
+
+    private static String toLine(Ticket ticket) {
+        return ticket.getTicketID() + "," +
+                ticket.getPlateNumber() + "," +
+                ticket.getSpotID() + "," +
+                ticket.getSpotCategory() + "," +
+                ticket.getEntryTime() +
+                (ticket.getVehicleType() == null ? "" : "," + ticket.getVehicleType());
+    }
+
+    // Find a ticket by its ID (index lookup + one read at the stored offset)
+    public static Ticket findTicketByID(String searchID) {
+
+        try {
+
+            String line = log().findLine(searchID);
+
+            if (line == null) return null;
+
+            return parseTicket(line);
+
+        } catch (IOException e) {
+            System.out.println("Error reading ticket file.");
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    // Rebuild occupancy after a restart: re-occupy the spot of every ticket not yet closed
+    // (snapshot + segments are replayed once; only a summary line is printed)
+    public static List<Ticket> recoverOccupancy(ParkingLot lot) {
+
+        long start = System.nanoTime();
+        List<Ticket> open = new ArrayList<>();
+        int[] unreadable = {0};
+
+        try {
+
+            log().forEachOpenTicket(line -> {
+                try {
+                    Ticket ticket = parseTicket(line);
+                    if (ticket != null) open.add(ticket);
+                    else unreadable[0]++;
+                } catch (RuntimeException e) {
+                    unreadable[0]++;
+                }
+            });
+
+        } catch (IOException e) {
+            System.out.println("Error reading ticket log for recovery");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+
+        List<Ticket> restored = lot.restoreOccupancy(open);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        EventLog.info("Recovered " + restored.size() + " parked vehicle(s) from ticket log in " + elapsedMs + " ms"
+                + (unreadable[0] > 0 ? " (" + unreadable[0] + " unreadable line(s) skipped)" : ""));
+
+        return restored;
+    }
+
+    // Turn one "ticketID,plate,spotID,category,entryTime[,vehicleType]" line back into a Ticket
+    // (lines written before the vehicle type was recorded have no sixth field)
+    static Ticket parseTicket(String line) {
+
+        String[] parts = line.split(",");
+
+        if (parts.length < 5) return null;
+
+        String ticketID = parts[0];
+        String plate = parts[1];
+        String spotID = parts[2];
+        SpotCategory category = SpotCategory.valueOf(parts[3]);
+        LocalDateTime entryTime = LocalDateTime.parse(parts[4]);
+        String vehicleType = parts.length > 5 ? parts[5] : null;
+
+        return new Ticket(ticketID, plate, spotID, category, entryTime, vehicleType);
+    }
+}
@@ -0,0 +1,69 @@
+package service;
+
+import entity.Ticket;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/*
+ * TicketFormatConverter:
+ * - Converts a CSV ticket file (tickets.txt, or a TicketLog segment / snapshot)
+ *   into the binary record format (see BinaryTicketFormat).
+ * - CLOSED records and lines that do not parse are skipped and counted.
+ * - Usage: java service.TicketFormatConverter [tickets.txt] [tickets.bin]
+ */
+public class TicketFormatConverter {
+
+    /**
+     * @return number of tickets written
+     */
+    public static int convert(Path csvFile, Path binaryFile) throws IOException {
+        int converted = 0;
+        int skipped = 0;
+
+        Files.deleteIfExists(binaryFile); // Always produce a fresh file
+        try (BufferedReader in = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             BinaryTicketWriter out = new BinaryTicketWriter(binaryFile)) {
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith(TicketLog.CLOSE_RECORD + ",")) continue;
+
+                Ticket ticket;
+                try {
+                    ticket = TicketFileService.parseTicket(line);
+                } catch (RuntimeException e) {
+                    ticket = null;
+                }
+                if (ticket == null || BinaryTicketFormat.spotCode(ticket.getSpotID()) < 0) {
+                    skipped++;
+                    continue;
+                }
+
+                out.write(ticket);
+                converted++;
+            }
+        }
+
+        if (skipped > 0) {
+            System.out.println("Skipped " + skipped + " unreadable ticket line(s) in " + csvFile);
+        }
+        return converted;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "tickets.txt");
+        Path binaryFile = Paths.get(args.length > 1 ? args[1] : "tickets.bin");
+
+        long csvBytes = Files.size(csvFile);
+        int converted = convert(csvFile, binaryFile);
+        long binaryBytes = Files.size(binaryFile);
+
+        System.out.println("Converted " + converted + " tickets: "
+                + csvBytes + " bytes -> " + binaryBytes + " bytes");
+    }
+}
@@ -0,0 +1,363 @@
+package service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * TicketJournal:
+ * - Long-lived append-only writer for ticket lines (one FileChannel, opened once).
+ * - A background writer thread drains queued lines and writes them in batches
+ *   (GROUP_COMMIT and ASYNC only; SYNC writes on the caller's thread and has no writer).
+ * - Durability decides when append() returns:
+ *     SYNC         -> line is written and forced to disk before returning (one fsync per ticket)
+ *     GROUP_COMMIT -> caller waits for its batch to be written and forced (one fsync per batch)
+ *     ASYNC        -> caller only queues the line; batches are written on size or time
+ *                     thresholds and forced on flush() / close()
+ */
+public class TicketJournal implements AutoCloseable {
+
+    public enum Durability { SYNC, GROUP_COMMIT, ASYNC }
+
+    // Told where each keyed line landed in the file, once it has been written
+    public interface WriteListener {
+        void written(String key, long offset);
+    }
+
+    private static final int DEFAULT_MAX_BATCH = 256;
+    private static final long DEFAULT_MAX_DELAY_MS = 5;
+
+    // One queued line, or a flush/stop marker (bytes == null); 'done' is set when the caller waits
+    // A marker with force == false only waits for the lines ahead of it to be written
+    private static class Entry {
+        final String key;
+        final byte[] bytes;
+        final CompletableFuture<Void> done;
+        final boolean stop;
+        final boolean force;
+
+        Entry(String key, byte[] bytes, CompletableFuture<Void> done, boolean stop) {
+            this(key, bytes, done, stop, true);
+        }
+
+        Entry(String key, byte[] bytes, CompletableFuture<Void> done, boolean stop, boolean force) {
+            this.key = key;
+            this.bytes = bytes;
+            this.done = done;
+            this.stop = stop;
+            this.force = force;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Object ioLock = new Object();    // Guards channel writes and the buffer
+    private volatile boolean closed;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private volatile WriteListener listener;
+
+    public TicketJournal(Path file, Durability durability) throws IOException {
+        this(file, durability, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MS);
+    }
+
+    /**
+     * @param maxBatch    most lines written in one batch
+     * @param maxDelayMs  longest an ASYNC line waits for its batch to fill up
+     */
+    public TicketJournal(Path file, Durability durability, int maxBatch, long maxDelayMs) throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.durability = durability;
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+
+        if (durability == Durability.SYNC) {
+            return; // Every append writes and forces on the caller's thread
+        }
+        Thread writer = new Thread(this::writeLoop, "ticket-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void setWriteListener(WriteListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Append one line (a newline is added).
+     * Blocks according to the journal's Durability.
+     */
+    public void append(String line) throws IOException {
+        append(null, line);
+    }
+
+    /**
+     * Append one line and report its offset to the WriteListener under 'key'
+     * once it has been written.
+     */
+    public void append(String key, String line) throws IOException {
+        if (closed) throw new IOException("Ticket journal is closed");
+
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+
+        if (durability == Durability.SYNC) {
+            long offset;
+            synchronized (ioLock) {
+                offset = channel.size();
+                writeFully(ByteBuffer.wrap(bytes));
+                channel.force(false);
+            }
+            notifyWritten(key, offset);
+        } else if (durability == Durability.GROUP_COMMIT) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            queue.add(new Entry(key, bytes, done, false));
+            await(done);
+        } else {
+            queue.add(new Entry(key, bytes, null, false));
+        }
+    }
+
+    /**
+     * Append several keyed lines as one unit: in SYNC mode one write and one fsync,
+     * in GROUP_COMMIT mode one wait for the batch holding the last line.
+     * keys.get(i) is reported for lines.get(i); a null key is not reported.
+     */
+    public void appendAll(List<String> keys, List<String> lines) throws IOException {
+        if (closed) throw new IOException("Ticket journal is closed");
+        if (lines.isEmpty()) return;
+
+        byte[][] bytes = new byte[lines.size()][];
+        int total = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (lines.get(i) + "\n").getBytes(StandardCharsets.UTF_8);
+            total += bytes[i].length;
+        }
+
+        if (durability == Durability.SYNC) {
+            ByteBuffer all = ByteBuffer.allocate(total);
+            for (byte[] line : bytes) {
+                all.put(line);
+            }
+            all.flip();
+            long offset;
+            synchronized (ioLock) {
+                offset = channel.size();
+                writeFully(all);
+                channel.force(false);
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                notifyWritten(keys.get(i), offset);
+                offset += bytes[i].length;
+            }
+        } else {
+            // The writer keeps queue order, so the last line's batch covers all of them
+            CompletableFuture<Void> done = durability == Durability.GROUP_COMMIT ? new CompletableFuture<>() : null;
+            int last = bytes.length - 1;
+            for (int i = 0; i < last; i++) {
+                queue.add(new Entry(keys.get(i), bytes[i], null, false));
+            }
+            queue.add(new Entry(keys.get(last), bytes[last], done, false));
+            if (done != null) {
+                await(done);
+            }
+        }
+    }
+
+    /**
+     * Wait until every line appended so far is written and forced to disk.
+     */
+    public void flush() throws IOException {
+        if (durability == Durability.SYNC) {
+            return; // Already forced on every append
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Entry(null, null, done, false));
+        await(done);
+    }
+
+    /**
+     * Wait until every line appended so far has been written (not forced), so its
+     * offset has reached the WriteListener. Cheaper than flush() for readers.
+     */
+    public void awaitWritten() throws IOException {
+        if (durability == Durability.SYNC) {
+            return; // Written before append returned
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Entry(null, null, done, false, false));
+        await(done);
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Flush remaining lines and close the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        if (durability == Durability.SYNC) {
+            synchronized (ioLock) {
+                channel.close();
+            }
+            return;
+        }
+
+        // The writer drains everything queued before the stop marker, forces, then exits
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Entry(null, null, done, true));
+        try {
+            await(done);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ===== Background writer =====
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                Entry first = queue.take();
+                batch.add(first);
+                drainUntilMarker(batch);
+
+                // ASYNC: let a small batch fill up until the size or time threshold
+                if (durability == Durability.ASYNC) {
+                    long deadline = System.nanoTime() + maxDelayNanos;
+                    while (batch.size() < maxBatch && !endsWithFlush(batch)) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) break;
+                        Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) break;
+                        batch.add(next);
+                        drainUntilMarker(batch);
+                    }
+                }
+
+                writeBatch(batch);
+                stopped = batch.get(batch.size() - 1).stop;
+            } catch (InterruptedException e) {
+                // Keep running: the journal only stops on close()
+                // Entries already taken off the queue are written now, not dropped
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                    stopped = batch.get(batch.size() - 1).stop;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Anything that slipped in after close() is rejected rather than left waiting
+        for (Entry late; (late = queue.poll()) != null; ) {
+            if (late.done != null) late.done.completeExceptionally(new IOException("Ticket journal is closed"));
+        }
+    }
+
+    private static boolean endsWithFlush(List<Entry> batch) {
+        return batch.get(batch.size() - 1).bytes == null;
+    }
+
+    // Take queued entries up to the batch limit, stopping right after a flush/stop marker
+    private void drainUntilMarker(List<Entry> batch) {
+        while (batch.size() < maxBatch && !endsWithFlush(batch)) {
+            Entry next = queue.poll();
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        Thread.interrupted(); // A pending interrupt would close the channel mid-write
+        try {
+            boolean force = durability == Durability.GROUP_COMMIT;
+            long batchOffset;
+            synchronized (ioLock) {
+                batchOffset = channel.size();
+                buffer.clear();
+                for (Entry entry : batch) {
+                    if (entry.bytes == null) {
+                        force |= entry.force; // flush() marker
+                        continue;
+                    }
+                    if (entry.bytes.length > buffer.remaining()) {
+                        drainBuffer();
+                        if (entry.bytes.length > buffer.capacity()) {
+                            buffer = ByteBuffer.allocateDirect(entry.bytes.length);
+                        }
+                    }
+                    buffer.put(entry.bytes);
+                }
+                drainBuffer();
+                if (force) {
+                    channel.force(false);
+                }
+            }
+            long offset = batchOffset;
+            for (Entry entry : batch) {
+                if (entry.bytes == null) continue;
+                notifyWritten(entry.key, offset);
+                offset += entry.bytes.length;
+            }
+            for (Entry entry : batch) {
+                if (entry.done != null) entry.done.complete(null);
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing ticket journal");
+            e.printStackTrace();
+            for (Entry entry : batch) {
+                if (entry.done != null) entry.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void notifyWritten(String key, long offset) {
+        WriteListener current = listener;
+        if (key != null && current != null) {
+            current.written(key, offset);
+        }
+    }
+
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> done) throws IOException {
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for ticket journal", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Ticket journal write failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/*
+ * TicketLog:
+ * - Ticket history kept as a set of files in one directory:
+ *     snapshot.log                  -> tickets still active at the last compaction
+ *     segment-000001.log, ...       -> ticket lines and CLOSED records written since, oldest first
+ * - New lines go to the newest (active) segment through a TicketJournal.
+ *   The active segment is rolled when it reaches maxSegmentBytes or the day changes.
+ * - compact() folds the rolled segments into a new snapshot and drops every ticket
+ *   whose session has closed, so restart cost follows current occupancy, not total history.
+ */
+public class TicketLog implements AutoCloseable {
+
+    // Record written when a session ends: "CLOSED,<ticketID>,<time>"
+    public static final String CLOSE_RECORD = "CLOSED";
+
+    private static final String SNAPSHOT_FILE = "snapshot.log";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    // One segment file: its read index, plus a journal while it is the active one
+    private static class Segment {
+        final long number;
+        final TicketStore store;
+        TicketJournal journal;
+
+        Segment(long number, TicketStore store) {
+            this.number = number;
+            this.store = store;
+        }
+    }
+
+    private final Path directory;
+    private final TicketJournal.Durability durability;
+    private final long maxSegmentBytes;
+
+    // Read lock: append / find. Write lock: roll the active segment or swap in a new snapshot.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+
+    private TicketStore snapshot;                          // null until the first compaction
+    private final List<Segment> sealed = new ArrayList<>(); // Rolled segments, oldest first
+    private volatile Segment active;
+    private final AtomicLong activeBytes = new AtomicLong();
+    private volatile long rollAtMillis;                    // Start of the next day
+    private ScheduledExecutorService compactor;
+    private boolean closed;                                // Guarded by compactionLock
+
+    public TicketLog(Path directory, TicketJournal.Durability durability, long maxSegmentBytes) throws IOException {
+        this.directory = directory;
+        this.durability = durability;
+        this.maxSegmentBytes = maxSegmentBytes;
+
+        Files.createDirectories(directory);
+
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            snapshot = new TicketStore(snapshotFile);
+        }
+
+        long lastNumber = 0;
+        for (long number : existingSegmentNumbers()) {
+            sealed.add(new Segment(number, new TicketStore(segmentPath(number))));
+            lastNumber = number;
+        }
+
+        active = openSegment(lastNumber + 1);
+    }
+
+    /**
+     * Adopt an old single-file ticket log (e.g. tickets.txt) as the oldest segment.
+     * Only used when the directory has no segments yet.
+     */
+    public static void importLegacyFile(Path legacyFile, Path directory) throws IOException {
+        if (!Files.exists(legacyFile)) return;
+        Files.createDirectories(directory);
+        Path target = directory.resolve(SEGMENT_PREFIX + String.format("%06d", 0) + SEGMENT_SUFFIX);
+        if (!Files.exists(target)) {
+            Files.move(legacyFile, target);
+        }
+    }
+
+    // ===== Writing =====
+
+    /**
+     * Append a ticket line, indexed under its ticketID.
+     */
+    public void append(String ticketID, String line) throws IOException {
+        rollIfNeeded();
+        lock.readLock().lock();
+        try {
+            active.journal.append(ticketID, line);
+            activeBytes.addAndGet(line.length() + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Append several ticket lines with one journal write, each indexed under its ticketID.
+     */
+    public void appendAll(List<String> ticketIDs, List<String> lines) throws IOException {
+        if (lines.isEmpty()) return;
+        long bytes = 0;
+        for (String line : lines) {
+            bytes += line.length() + 1;
+        }
+        rollIfNeeded();
+        lock.readLock().lock();
+        try {
+            active.journal.appendAll(ticketIDs, lines);
+            activeBytes.addAndGet(bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Record that a ticket's session has ended, so compaction can drop it.
+     */
+    public void close(String ticketID) throws IOException {
+        append(null, CLOSE_RECORD + "," + ticketID + "," + LocalDateTime.now());
+    }
+
+    /**
+     * Close several tickets with one journal write (one fsync in SYNC mode).
+     */
+    public void closeAll(Collection<String> ticketIDs) throws IOException {
+        if (ticketIDs.isEmpty()) return;
+        String closedAt = LocalDateTime.now().toString();
+        StringBuilder lines = new StringBuilder();
+        for (String ticketID : ticketIDs) {
+            if (lines.length() > 0) lines.append('\n');
+            lines.append(CLOSE_RECORD).append(',').append(ticketID).append(',').append(closedAt);
+        }
+        append(null, lines.toString());
+    }
+
+    /**
+     * Wait until every appended line is on disk.
+     */
+    public void flush() throws IOException {
+        lock.readLock().lock();
+        try {
+            active.journal.flush();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rollIfNeeded() throws IOException {
+        if (activeBytes.get() < maxSegmentBytes && System.currentTimeMillis() < rollAtMillis) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (activeBytes.get() < maxSegmentBytes && System.currentTimeMillis() < rollAtMillis) {
+                return; // Another thread rolled first
+            }
+            Segment previous = active;
+            previous.journal.close();
+            previous.journal = null;
+            sealed.add(previous);
+            active = openSegment(previous.number + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Segment openSegment(long number) throws IOException {
+        Path path = segmentPath(number);
+        Segment segment = new Segment(number, new TicketStore(path));
+        segment.journal = new TicketJournal(path, durability);
+        segment.journal.setWriteListener(segment.store);
+
+        activeBytes.set(Files.size(path));
+        ZoneId zone = ZoneId.systemDefault();
+        rollAtMillis = LocalDate.now(zone).plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return segment;
+    }
+
+    // ===== Reading =====
+
+    /**
+     * Find the line for a ticket (oldest file first), or null if unknown.
+     * The indexes are probed first; only on a miss does it wait for lines still
+     * queued in the journal (written, not forced) and look again.
+     */
+    public String findLine(String ticketID) throws IOException {
+        String line = probe(ticketID);
+        if (line != null) return line;
+
+        lock.readLock().lock();
+        try {
+            active.journal.awaitWritten();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return probe(ticketID);
+    }
+
+    private String probe(String ticketID) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (snapshot != null) {
+                String line = snapshot.findLine(ticketID);
+                if (line != null) return line;
+            }
+            for (Segment segment : sealed) {
+                String line = segment.store.findLine(ticketID);
+                if (line != null) return line;
+            }
+            return active.store.findLine(ticketID);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visit the line of every ticket with no CLOSED record, oldest first.
+     * Lines are streamed to the visitor as the files are read; only ticket IDs are kept
+     * (those closed since the last compaction, and those already visited).
+     * Used on startup to rebuild occupancy.
+     */
+    public void forEachOpenTicket(Consumer<String> visitor) throws IOException {
+        flush();
+        lock.readLock().lock();
+        try {
+            // 1) IDs closed so far (the snapshot holds no CLOSED records, so only segments)
+            Set<String> closed = new HashSet<>();
+            for (Segment segment : sealed) {
+                collectClosed(segment.store, closed);
+            }
+            collectClosed(active.store, closed);
+
+            // 2) Hand every other ticket line straight to the visitor
+            List<TicketStore> sources = new ArrayList<>();
+            if (snapshot != null) sources.add(snapshot);
+            for (Segment segment : sealed) sources.add(segment.store);
+            sources.add(active.store);
+
+            Set<String> visited = new HashSet<>();
+            for (TicketStore source : sources) {
+                source.forEachLine(line -> {
+                    int comma = line.indexOf(',');
+                    if (comma <= 0 || line.startsWith(CLOSE_RECORD + ",")) return;
+                    String ticketID = line.substring(0, comma);
+                    if (!closed.contains(ticketID) && visited.add(ticketID)) {
+                        visitor.accept(line);
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return sealed.size() + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== Compaction =====
+
+    /**
+     * Run compact() in the background every intervalMinutes.
+     */
+    public synchronized void startCompactor(long intervalMinutes) {
+        if (compactor != null) return;
+        compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ticket-log-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.out.println("Error compacting ticket log");
+                e.printStackTrace();
+            }
+        }, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Fold the snapshot and all rolled segments into a new snapshot holding only
+     * tickets with no CLOSED record, then delete the rolled segments.
+     * The active segment is left alone (its CLOSED records are still honoured).
+     * @return number of tickets kept in the new snapshot
+     */
+    public int compact() throws IOException {
+        synchronized (compactionLock) {
+            if (closed) return 0;
+            TicketStore oldSnapshot;
+            List<Segment> folded;
+            Segment current;
+            lock.readLock().lock();
+            try {
+                oldSnapshot = snapshot;
+                folded = new ArrayList<>(sealed);
+                current = active;
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (folded.isEmpty()) {
+                return oldSnapshot == null ? 0 : oldSnapshot.size();
+            }
+
+            // 1) Every ticket that has been closed, in any file
+            Set<String> closed = new HashSet<>();
+            List<TicketStore> sources = new ArrayList<>();
+            if (oldSnapshot != null) sources.add(oldSnapshot);
+            for (Segment segment : folded) sources.add(segment.store);
+            for (TicketStore source : sources) {
+                collectClosed(source, closed);
+            }
+            collectClosed(current.store, closed);
+
+            // 2) Write the surviving ticket lines to a temporary snapshot and force it
+            Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+            int kept = writeSnapshot(sources, closed, tmp);
+
+            // 3) Swap it in; readers see either the old files or the new snapshot.
+            //    The old files are closed and unmapped first: an open channel or a live
+            //    mapping stops a file being replaced or deleted on Windows.
+            lock.writeLock().lock();
+            try {
+                if (oldSnapshot != null) oldSnapshot.close();
+                for (Segment segment : folded) {
+                    segment.store.close();
+                }
+                try {
+                    Files.move(tmp, snapshotFile,
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    reopen(oldSnapshot, folded); // Keep serving the old files
+                    throw e;
+                }
+                snapshot = new TicketStore(snapshotFile);
+                sealed.removeAll(folded);
+                for (Segment segment : folded) {
+                    Files.deleteIfExists(segment.store.getFile());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return kept;
+        }
+    }
+
+    // Undo the closes in compact() after a failed swap (caller holds the write lock)
+    private void reopen(TicketStore oldSnapshot, List<Segment> folded) throws IOException {
+        if (oldSnapshot != null) {
+            snapshot = new TicketStore(oldSnapshot.getFile());
+        }
+        for (int i = 0; i < sealed.size(); i++) {
+            Segment segment = sealed.get(i);
+            if (folded.contains(segment)) {
+                sealed.set(i, new Segment(segment.number, new TicketStore(segment.store.getFile())));
+            }
+        }
+    }
+
+    private static void collectClosed(TicketStore source, Set<String> closed) throws IOException {
+        source.forEachLine(line -> {
+            if (line.startsWith(CLOSE_RECORD + ",")) {
+                closed.add(closedTicketID(line));
+            }
+        });
+    }
+
+    // "CLOSED,<ticketID>,<time>" -> ticketID
+    private static String closedTicketID(String line) {
+        int end = line.indexOf(',', CLOSE_RECORD.length() + 1);
+        return line.substring(CLOSE_RECORD.length() + 1, end < 0 ? line.length() : end);
+    }
+
+    private static int writeSnapshot(List<TicketStore> sources, Set<String> closed, Path tmp) throws IOException {
+        int[] kept = {0};
+        try (OutputStream out = Files.newOutputStream(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (TicketStore source : sources) {
+                source.forEachLine(line -> {
+                    int comma = line.indexOf(',');
+                    if (comma <= 0 || line.startsWith(CLOSE_RECORD + ",")) return;
+                    if (closed.contains(line.substring(0, comma))) return;
+                    try {
+                        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    kept[0]++;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        return kept[0];
+    }
+
+    // ===== Lifecycle =====
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (compactor != null) {
+                // No interrupt: it would close a store's channel in the middle of a read
+                compactor.shutdown();
+                compactor = null;
+            }
+        }
+        // A compaction still running reads the old files outside 'lock', and closing a
+        // store unmaps it at once: wait for it to finish before closing anything
+        synchronized (compactionLock) {
+            if (closed) return;
+            closed = true;
+            lock.writeLock().lock();
+            try {
+                active.journal.close();
+                active.store.close();
+                for (Segment segment : sealed) {
+                    segment.store.close();
+                }
+                if (snapshot != null) snapshot.close();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ===== Files =====
+
+    private Path segmentPath(long number) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%06d", number) + SEGMENT_SUFFIX);
+    }
+
+    private List<Long> existingSegmentNumbers() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String digits = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    numbers.add(Long.parseLong(digits));
+                } catch (NumberFormatException e) {
+                    // Not one of ours - ignore
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+}
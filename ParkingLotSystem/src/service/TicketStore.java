@@ -0,0 +1,234 @@
+package service;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/*
+ * TicketStore:
+ * - Read side of the ticket log: an in-memory index from ticketID to the byte offset of its line.
+ * - The index is rebuilt by one pass over the file on startup, then kept current
+ *   by the journal as new lines are written (see TicketJournal.WriteListener).
+ * - A lookup is one hash probe plus one read at the stored offset. The file is
+ *   memory-mapped in whole MAP_STEP blocks, so that read is a plain memory access;
+ *   lines past the mapping (the tail still being written) use positioned reads, and
+ *   the mapping is only extended once the file has grown by another MAP_STEP.
+ * - A superseded mapping may still be in use by a reader, so it is kept until close().
+ * - close() unmaps the file straight away, so it can then be replaced or deleted
+ *   (Windows refuses both while a mapping is live). The owner (TicketLog) must make
+ *   sure no read is running when it closes a store.
+ */
+public class TicketStore implements TicketJournal.WriteListener, AutoCloseable {
+
+    // The mapping grows in these steps; anything past it is read with positioned reads
+    private static final long MAP_STEP = 1 << 20;
+    // Never map beyond this (one MappedByteBuffer is int-indexed)
+    private static final long MAX_MAPPED_SIZE = Integer.MAX_VALUE - Integer.MAX_VALUE % MAP_STEP;
+    private static final int READ_CHUNK = 8 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, Long> offsetsById = new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer mapped;  // Covers [0, mapped.capacity()) of the file
+    private final List<MappedByteBuffer> superseded = new ArrayList<>();  // Unmapped on close()
+
+    public TicketStore(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        rebuildIndex();
+    }
+
+    /**
+     * Scan the whole file once and record where every ticket line starts.
+     * Only the ticketID (text before the first comma) is decoded.
+     */
+    private void rebuildIndex() throws IOException {
+        offsetsById.clear();
+        long size = channel.size();
+        long lineStart = 0;
+        while (lineStart < size) {
+            long lineEnd = indexOfNewline(lineStart, size);
+            String ticketID = ticketIDOf(readBytes(lineStart, (int) (lineEnd - lineStart)));
+            if (ticketID != null && !ticketID.equals(TicketLog.CLOSE_RECORD)) {
+                offsetsById.putIfAbsent(ticketID, lineStart);
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    // Called by the journal once a line is on disk
+    @Override
+    public void written(String ticketID, long offset) {
+        offsetsById.putIfAbsent(ticketID, offset);
+    }
+
+    /**
+     * Byte offset of a ticket's line, or -1 if the ticket is unknown.
+     */
+    public long offsetOf(String ticketID) {
+        Long offset = offsetsById.get(ticketID);
+        return offset == null ? -1 : offset;
+    }
+
+    /**
+     * Read the line for a ticket, or null if the ticket is unknown.
+     */
+    public String findLine(String ticketID) throws IOException {
+        long offset = offsetOf(ticketID);
+        if (offset < 0) return null;
+        return readLine(offset);
+    }
+
+    /**
+     * Read one line (without the newline) starting at offset.
+     */
+    public String readLine(long offset) throws IOException {
+        MappedByteBuffer view = mapped;
+        if (view != null) {
+            // Usually the whole line is inside the mapping; if it runs past, read on below
+            for (int pos = (int) Math.min(offset, view.capacity()); pos < view.capacity(); pos++) {
+                if (view.get(pos) == '\n') {
+                    return new String(readBytes(offset, (int) (pos - offset)), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        long end = indexOfNewline(offset, channel.size());
+        return new String(readBytes(offset, (int) (end - offset)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Visit every complete line in the file, in order.
+     * A trailing line still being written (no newline yet) is skipped.
+     */
+    public void forEachLine(Consumer<String> visitor) throws IOException {
+        long size = channel.size();
+        long lineStart = 0;
+        while (lineStart < size) {
+            long lineEnd = indexOfNewline(lineStart, size);
+            if (lineEnd == size) return;
+            visitor.accept(new String(readBytes(lineStart, (int) (lineEnd - lineStart)), StandardCharsets.UTF_8));
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    public int size() {
+        return offsetsById.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<MappedByteBuffer> views;
+        synchronized (this) {
+            views = new ArrayList<>(superseded);
+            if (mapped != null) views.add(mapped);
+            superseded.clear();
+            mapped = null;
+        }
+        channel.close();
+        for (MappedByteBuffer view : views) {
+            unmap(view);
+        }
+    }
+
+    // ===== Helpers =====
+
+    // Text before the first comma, or null if the line has none (not a ticket line)
+    private static String ticketIDOf(byte[] line) {
+        for (int i = 0; i < line.length; i++) {
+            if (line[i] == ',') {
+                return i == 0 ? null : new String(line, 0, i, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // Position of the next '\n' at or after 'from', or 'size' if the last line has none
+    private long indexOfNewline(long from, long size) throws IOException {
+        long pos = from;
+        MappedByteBuffer view = mappingFor(size);
+        if (view != null) {
+            long mappedEnd = Math.min(size, view.capacity());
+            for (; pos < mappedEnd; pos++) {
+                if (view.get((int) pos) == '\n') return pos;
+            }
+        }
+        // Past the mapping: read ahead in chunks
+        ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK);
+        while (pos < size) {
+            chunk.clear();
+            chunk.limit((int) Math.min(READ_CHUNK, size - pos));
+            int read = channel.read(chunk, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (chunk.get(i) == '\n') return pos + i;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private byte[] readBytes(long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        MappedByteBuffer view = mapped;
+        if (view != null && offset + length <= view.capacity()) {
+            ByteBuffer source = view.duplicate();
+            source.position((int) offset);
+            source.get(bytes);
+            return bytes;
+        }
+        ByteBuffer dst = ByteBuffer.wrap(bytes);
+        while (dst.hasRemaining() && channel.read(dst, offset + dst.position()) >= 0) {
+            // keep reading until the line is complete
+        }
+        return bytes;
+    }
+
+    // Release a mapping now instead of whenever the buffer is garbage collected
+    private static void unmap(MappedByteBuffer view) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), view);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // No cleaner on this JVM - the mapping goes when the buffer is collected
+        }
+    }
+
+    // The current mapping, first extended if a file of 'size' bytes has grown at least one
+    // whole MAP_STEP past it (null if the file is still smaller than one step)
+    private MappedByteBuffer mappingFor(long size) throws IOException {
+        MappedByteBuffer view = mapped;
+        long mappedSize = view == null ? 0 : view.capacity();
+        if (size < mappedSize + MAP_STEP || mappedSize == MAX_MAPPED_SIZE) {
+            return view;
+        }
+        synchronized (this) {
+            view = mapped;
+            mappedSize = view == null ? 0 : view.capacity();
+            long target = Math.min(size - size % MAP_STEP, MAX_MAPPED_SIZE);
+            if (target <= mappedSize || !channel.isOpen()) {
+                return view;
+            }
+            // A reader may still hold the old mapping: keep it until close()
+            if (view != null) superseded.add(view);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, target);
+            return mapped;
+        }
+    }
+}
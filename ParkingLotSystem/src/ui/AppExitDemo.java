@@ -1,15 +1,33 @@
 package ui;
 
 import control.ExitController;
+import control.InMemoryParkingSessionRepository;
+import control.InMemoryVehicleRepository;
+import control.ParkingSessionRepository;
 import control.ParkingSpotLookup;
+import control.SessionRecorder;
+import control.VehicleRepository;
+import entity.Money;
 import entity.ParkingLot;
+import entity.Ticket;
+import enums.SpotStatus;
+import observer.EventBus;
+import observer.OccupancyObserver;
+import observer.RevenueObserver;
 import service.*;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
 /**
  * AppExitDemo:
  * - Small runnable demo for Member 3 (Exit/Billing/Payment).
- * - This is NOT final integration with Entry module.
- * - It wires dependencies and seeds a demo session so ExitPanel can be tested.
+ * - Entry and exit share one lot: tickets issued on the Entry tab become sessions
+ *   (SessionRecorder) that the Exit tab can settle.
+ * - Vehicles still parked when the demo last stopped are recovered from the ticket log.
+ * - A demo session is seeded so ExitPanel can be tested straight away.
+ * - An EventBus carries spot, ticket, payment and fine events to the status line.
  */
 public class AppExitDemo {
 
@@ -18,33 +36,93 @@ public class AppExitDemo {
         // ===== 1) Build ParkingLot =====
         ParkingLot lot = new ParkingLot("MAIN", 2, 2, 5);
 
+        // Put back vehicles that were parked when the system last stopped
+        List<Ticket> restored = TicketFileService.recoverOccupancy(lot);
+
         // ===== 2) Wire Services =====
         BillingService billingService = new BillingService();
 
         // FineService is ledger-backed so we can demonstrate "unpaid fines carry forward"
-        FineLedger ledger = new InMemoryFineLedger();
-        FineService fineService = new LedgerBackedFineService(ledger); // Member 4 will plug in real fine rules later
+        // The ledger is saved under ./fines, so unpaid fines survive a restart
+        FineLedger ledger;
+        try {
+            PersistentFineLedger persistent = new PersistentFineLedger(Paths.get("fines"));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    persistent.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+            ledger = persistent;
+        } catch (IOException e) {
+            System.out.println("Error opening fine ledger - fines will not be saved");
+            e.printStackTrace();
+            ledger = new InMemoryFineLedger();
+        }
+        LedgerBackedFineService fineService = new LedgerBackedFineService(ledger); // Member 4 will plug in real fine rules later
 
         PaymentService paymentService = new PaymentService();
 
-        // Lookup used by controller to find and release spots
-        ParkingSpotLookup spotLookup = new ParkingSpotLookup(lot);
+        // Active sessions + vehicles (entry fills these through SessionRecorder)
+        ParkingSessionRepository sessionRepo = new InMemoryParkingSessionRepository();
+        VehicleRepository vehicleRepo = new InMemoryVehicleRepository();
+        SessionRecorder recorder = new SessionRecorder(sessionRepo, vehicleRepo);
+        recorder.restoreSessions(restored);
+
+        SpotAllocator allocator = new SpotAllocator(lot);
+        allocator.addAllocationListener(recorder);
+
+        // Lookup used by controller to find and release spots (same locking as the allocator)
+        ParkingSpotLookup spotLookup = new ParkingSpotLookup(lot, allocator.getMode());
 
         // ===== 3) Controller =====
-        ExitController exitController = new ExitController(billingService, fineService, paymentService, spotLookup);
+        ExitController exitController = new ExitController(billingService, fineService, paymentService,
+                sessionRepo, vehicleRepo, spotLookup);
 
         // ===== 4) Seed demo data (so you can immediately test exit) =====
         // Use a valid spot ID based on how Floor initializes spots (example: F1-R1-S1)
-        exitController.seedDemoSession("ABC1234", false, "F1-R1-S1");
+        // (skipped if that plate or spot came back from the ticket log)
+        if (sessionRepo.findActiveByPlate("ABC1234") == null
+                && lot.getSpotByID("F1-R1-S1").getStatus() == SpotStatus.AVAILABLE) {
+            exitController.seedDemoSession("ABC1234", false, "F1-R1-S1");
+        }
 
         // Optional: simulate existing unpaid fines to show "ledger carry forward"
-        ledger.addOutstanding("ABC1234", 5.00, "PREVIOUS_UNPAID_FINE");
+        if (ledger.getOutstanding("ABC1234").isZero()) {
+            ledger.addOutstanding("ABC1234", Money.ofRinggit(5), "PREVIOUS_UNPAID_FINE");
+        }
 
-        // ===== 5) Launch GUI =====
+        // ===== 5) Event bus: gates publish, the status line is told about changes =====
+        EventBus bus = new EventBus();
+        bus.publishFrom(lot);
+        bus.publishFrom(allocator);
+        bus.publishFrom(exitController);
+        bus.publishFrom(fineService);
+        OccupancyObserver occupancy = new OccupancyObserver(lot, bus);
+        RevenueObserver revenue = new RevenueObserver(exitController.getRevenue(), bus);
+        Runtime.getRuntime().addShutdownHook(new Thread(bus::close));
+
+        // ===== 6) Launch GUI =====
         javax.swing.SwingUtilities.invokeLater(() -> {
             javax.swing.JFrame f = new javax.swing.JFrame("Parking Exit Panel Demo");
             f.setDefaultCloseOperation(javax.swing.JFrame.EXIT_ON_CLOSE);
-            f.setContentPane(new ExitPanel(exitController));
+            javax.swing.JTabbedPane tabs = new javax.swing.JTabbedPane();
+            tabs.addTab("Entry", new EntryPanel(allocator));
+            tabs.addTab("Exit", new ExitPanel(exitController));
+
+            javax.swing.JLabel status = new javax.swing.JLabel();
+            Runnable showStatus = () -> status.setText(" Occupied: " + occupancy.getOccupiedSpots()
+                    + " / " + occupancy.getTotalSpots() + "   |   Revenue: RM" + revenue.getTotalRevenue().toPlainString());
+            showStatus.run();
+            // Observers call back on the bus thread; the label is updated on the Swing thread
+            occupancy.addChangeListener(() -> javax.swing.SwingUtilities.invokeLater(showStatus));
+            revenue.addChangeListener(() -> javax.swing.SwingUtilities.invokeLater(showStatus));
+
+            javax.swing.JPanel content = new javax.swing.JPanel(new java.awt.BorderLayout());
+            content.add(tabs, java.awt.BorderLayout.CENTER);
+            content.add(status, java.awt.BorderLayout.SOUTH);
+            f.setContentPane(content);
             f.pack();
             f.setLocationRelativeTo(null);
             f.setVisible(true);
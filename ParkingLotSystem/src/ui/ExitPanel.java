@@ -1,6 +1,7 @@
 package ui;
 
 import control.ExitController;
+import entity.Money;
 import entity.Receipt;
 
 import javax.swing.*;
@@ -145,15 +146,15 @@ public class ExitPanel extends JPanel {
                 return;
             }
 
-            double amount;
+            Money amount;
             try {
-                amount = Double.parseDouble(amountText);
+                amount = Money.parse(amountText);
             } catch (NumberFormatException nfe) {
                 JOptionPane.showMessageDialog(this, "Amount must be a number (example: 10.00).", "Validation", JOptionPane.WARNING_MESSAGE);
                 return;
             }
 
-            if (amount <= 0) {
+            if (!amount.isPositive()) {
                 JOptionPane.showMessageDialog(this, "Amount must be greater than 0.", "Validation", JOptionPane.WARNING_MESSAGE);
                 return;
             }
@@ -165,10 +166,10 @@ public class ExitPanel extends JPanel {
             StringBuilder sb = new StringBuilder();
             sb.append(receipt.format());
 
-            double outstanding = exitController.getOutstandingFines(plate);
-            if (outstanding > 0) {
-                sb.append("\nNOTE: Outstanding unpaid balance stored in ledger: RM ")
-                        .append(String.format("%.2f", outstanding))
+            Money outstanding = exitController.getOutstandingFines(plate);
+            if (outstanding.isPositive()) {
+                sb.append("\nNOTE: Outstanding unpaid balance stored in ledger: ")
+                        .append(outstanding)
                         .append("\n");
             }
 